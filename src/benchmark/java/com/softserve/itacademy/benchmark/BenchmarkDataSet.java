@@ -0,0 +1,78 @@
+package com.softserve.itacademy.benchmark;
+
+import com.softserve.itacademy.ToDoListApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+final class BenchmarkDataSet {
+
+    static final long FIRST_ID = 1000;
+    static final long OWNER_ID = FIRST_ID;
+    static final long TODO_ID = FIRST_ID;
+
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+    private static final long[] STATES = {5, 6, 7, 8};
+
+    private BenchmarkDataSet() {
+    }
+
+    static ConfigurableApplicationContext start(int size) {
+        ConfigurableApplicationContext context = run(WebApplicationType.NONE);
+        seed(context.getBean(JdbcTemplate.class), size);
+        return context;
+    }
+
+    static ConfigurableApplicationContext run(WebApplicationType type, String... args) {
+        List<String> arguments = new ArrayList<>(Arrays.asList(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.platform=h2",
+                "--spring.jpa.database=H2",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN"));
+        arguments.addAll(Arrays.asList(args));
+        return new SpringApplicationBuilder(ToDoListApplication.class)
+                .web(type)
+                .run(arguments.toArray(new String[0]));
+    }
+
+    static String email(long userId) {
+        return "user" + userId + "@bench.com";
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int size) {
+        String password = jdbcTemplate.queryForObject("select password from users where id = 4", String.class);
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> todos = new ArrayList<>();
+        List<Object[]> collaborators = new ArrayList<>();
+        List<Object[]> tasks = new ArrayList<>();
+        LocalDateTime createdAt = LocalDateTime.of(2020, 1, 1, 0, 0);
+        for (int i = 0; i < size; i++) {
+            long id = FIRST_ID + i;
+            users.add(new Object[]{id, "Bench", "User", email(id), password, 2});
+            todos.add(new Object[]{id, "Benchmark To-Do #" + i, Timestamp.valueOf(createdAt.plusMinutes(i)), OWNER_ID});
+            if (i > 0) {
+                collaborators.add(new Object[]{id, OWNER_ID + i});
+            }
+            tasks.add(new Object[]{id, "Benchmark Task #" + i, PRIORITIES[i % PRIORITIES.length], TODO_ID,
+                    STATES[i % STATES.length]});
+        }
+        jdbcTemplate.batchUpdate("insert into users (id, first_name, last_name, email, password, role_id) " +
+                "values (?, ?, ?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("insert into todos (id, title, created_at, owner_id) values (?, ?, ?, ?)", todos);
+        jdbcTemplate.batchUpdate("insert into todo_collaborator (todo_id, collaborator_id) values (?, ?)",
+                collaborators);
+        jdbcTemplate.batchUpdate("insert into tasks (id, name, priority, todo_id, state_id) values (?, ?, ?, ?, ?)",
+                tasks);
+    }
+}
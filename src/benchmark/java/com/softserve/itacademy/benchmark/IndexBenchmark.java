@@ -0,0 +1,109 @@
+package com.softserve.itacademy.benchmark;
+
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.service.TaskService;
+import com.softserve.itacademy.service.ToDoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Compares the composite indexes from V3 with the single-column ones they replaced,
+// on a skewed data set generated by the dataset profile. Query plans are printed during setup.
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class IndexBenchmark {
+
+    private static final String[] SINGLE_COLUMN = {
+            "create index idx_todos_owner_id on todos (owner_id)",
+            "create index idx_tasks_todo_id on tasks (todo_id)",
+            "create index idx_todo_collaborator_collaborator_id on todo_collaborator (collaborator_id)"
+    };
+
+    private static final String[] COMPOSITE = {
+            "idx_todos_owner_id_created_at_id",
+            "idx_tasks_todo_id_id",
+            "idx_todo_collaborator_collaborator_id_todo_id"
+    };
+
+    private static final String TODOS_BY_USER = "select id, title, created_at, owner_id from todos " +
+            "where owner_id = %1$d union select id, title, created_at, owner_id from todos " +
+            "inner join todo_collaborator on id = todo_id and collaborator_id = %1$d order by created_at, id";
+
+    private static final String TASKS_BY_TODO = "select t.*, s.name from tasks t left join states s " +
+            "on s.id = t.state_id where t.todo_id = %d order by t.id";
+
+    @Param({"1000000"})
+    private int tasks;
+
+    @Param({"false", "true"})
+    private boolean composite;
+
+    private ConfigurableApplicationContext context;
+    private ToDoService todoService;
+    private TaskService taskService;
+    private long userId;
+    private long todoId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataSet.run(WebApplicationType.NONE,
+                "--spring.profiles.active=dataset",
+                "--dataset.users=" + Math.max(tasks / 100, 10),
+                "--dataset.todos=" + Math.max(tasks / 10, 10),
+                "--dataset.tasks=" + tasks);
+        todoService = context.getBean(ToDoService.class);
+        taskService = context.getBean(TaskService.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (!composite) {
+            for (String index : COMPOSITE) {
+                jdbcTemplate.execute("drop index " + index);
+            }
+            for (String index : SINGLE_COLUMN) {
+                jdbcTemplate.execute(index);
+            }
+        }
+        jdbcTemplate.execute("analyze");
+
+        // The busiest collaborator and the largest to-do are where the index choice matters most.
+        userId = jdbcTemplate.queryForObject("select collaborator_id from todo_collaborator " +
+                "group by collaborator_id order by count(*) desc limit 1", Long.class);
+        todoId = jdbcTemplate.queryForObject("select todo_id from tasks " +
+                "group by todo_id order by count(*) desc limit 1", Long.class);
+
+        printPlan(jdbcTemplate, "getByUserId(" + userId + ")", String.format(TODOS_BY_USER, userId));
+        printPlan(jdbcTemplate, "getByTodoId(" + todoId + ")", String.format(TASKS_BY_TODO, todoId));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ToDo> todoGetByUserId() {
+        return todoService.getByUserId(userId);
+    }
+
+    @Benchmark
+    public List<Task> taskGetByTodoId() {
+        return taskService.getByTodoId(todoId);
+    }
+
+    private void printPlan(JdbcTemplate jdbcTemplate, String name, String sql) {
+        System.out.printf("%n%s, composite=%s:%n", name, composite);
+        for (Map<String, Object> row : jdbcTemplate.queryForList("explain " + sql)) {
+            row.values().forEach(line -> System.out.println("  " + line));
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.softserve.itacademy.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-model load test: every virtual user logs in through the login form and then
+ * loops over a weighted mix of page views and task writes until the run ends.
+ *
+ * <pre>mvn -P benchmark test-compile exec:exec@load-test -Dloadtest.users=32 -Dloadtest.duration=120</pre>
+ */
+public class LoadTest {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+    private static final Pattern VERSION = Pattern.compile("name=\"version\" value=\"(\\d+)\"");
+    private static final String PASSWORD = "password";
+
+    private static final String TODOS_OF_USER = "GET /todos/all/users/{id}";
+    private static final String TODO_TASKS = "GET /todos/{id}/tasks";
+    private static final String TASK_CREATE = "POST /tasks/create/todos/{todo_id}";
+    private static final String TASK_UPDATE = "POST /tasks/{task_id}/update/todos/{todo_id}";
+    private static final String USERS_ALL = "GET /users/all";
+
+    private final int virtualUsers = Integer.getInteger("loadtest.users", 16);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup", 10);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration", 60);
+    private final int thinkMillis = Integer.getInteger("loadtest.think-ms", 0);
+    private final Path result = Paths.get(System.getProperty("loadtest.result", "target/loadtest-result.json"));
+
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = BenchmarkDataSet.run(WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--spring.profiles.active=dataset",
+                "--dataset.users=" + Integer.getInteger("loadtest.dataset.users", 1_000),
+                "--dataset.todos=" + Integer.getInteger("loadtest.dataset.todos", 10_000),
+                "--dataset.tasks=" + Integer.getInteger("loadtest.dataset.tasks", 100_000));
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            new LoadTest().run("http://localhost:" + port, context.getBean(JdbcTemplate.class));
+        } finally {
+            context.close();
+        }
+    }
+
+    private void run(String baseUrl, JdbcTemplate jdbcTemplate) throws Exception {
+        List<VirtualUser> users = prepareUsers(baseUrl, jdbcTemplate);
+        ExecutorService executor = Executors.newFixedThreadPool(virtualUsers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (VirtualUser user : users) {
+            futures.add(executor.submit(() -> {
+                user.login();
+                user.loop();
+                return null;
+            }));
+        }
+        Thread.sleep(warmupSeconds * 1000L);
+        recording = true;
+        long start = System.nanoTime();
+        Thread.sleep(durationSeconds * 1000L);
+        recording = false;
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        running = false;
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        report(users, elapsed);
+    }
+
+    // Virtual users log in as generated users that own a to-do with at least one task;
+    // every eighth one is promoted to admin so /users/all gets traffic too.
+    private List<VirtualUser> prepareUsers(String baseUrl, JdbcTemplate jdbcTemplate) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("select t.owner_id, min(t.id) todo_id, " +
+                "min(k.id) task_id from todos t join tasks k on k.todo_id = t.id " +
+                "where t.owner_id in (select id from users where email like '%@generated.test') " +
+                "group by t.owner_id order by t.owner_id limit ?", virtualUsers);
+        if (rows.size() < virtualUsers) {
+            throw new IllegalStateException("Only " + rows.size() + " users have to-dos with tasks");
+        }
+        long adminRole = jdbcTemplate.queryForObject("select id from roles where name = 'ADMIN'", Long.class);
+        long stateId = jdbcTemplate.queryForObject("select min(id) from states", Long.class);
+        List<VirtualUser> users = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, Object> row = rows.get(i);
+            long userId = ((Number) row.get("owner_id")).longValue();
+            boolean admin = i % 8 == 0;
+            if (admin) {
+                jdbcTemplate.update("update users set role_id = ? where id = ?", adminRole, userId);
+            }
+            String email = jdbcTemplate.queryForObject("select email from users where id = ?", String.class, userId);
+            users.add(new VirtualUser(baseUrl, email, userId, ((Number) row.get("todo_id")).longValue(),
+                    ((Number) row.get("task_id")).longValue(), stateId, admin, i));
+        }
+        return users;
+    }
+
+    private void report(List<VirtualUser> users, double elapsed) throws IOException {
+        Map<String, List<Long>> latencies = new LinkedHashMap<>();
+        Map<String, Integer> errors = new LinkedHashMap<>();
+        for (String endpoint : List.of(TODOS_OF_USER, TODO_TASKS, TASK_CREATE, TASK_UPDATE, USERS_ALL)) {
+            List<Long> all = new ArrayList<>();
+            int failed = 0;
+            for (VirtualUser user : users) {
+                all.addAll(user.latencies.getOrDefault(endpoint, Collections.emptyList()));
+                failed += user.errors.getOrDefault(endpoint, 0);
+            }
+            Collections.sort(all);
+            latencies.put(endpoint, all);
+            errors.put(endpoint, failed);
+        }
+
+        System.out.printf("%n%d virtual users, %.1f s measured%n", virtualUsers, elapsed);
+        System.out.printf("%-42s %9s %8s %9s %9s %9s %7s%n", "Endpoint", "Requests", "Req/s", "p50 ms", "p95 ms",
+                "p99 ms", "Errors");
+        StringJoiner json = new StringJoiner(",\n", "[\n", "\n]\n");
+        for (Map.Entry<String, List<Long>> entry : latencies.entrySet()) {
+            List<Long> values = entry.getValue();
+            double throughput = values.size() / elapsed;
+            double p50 = percentile(values, 0.50);
+            double p95 = percentile(values, 0.95);
+            double p99 = percentile(values, 0.99);
+            int failed = errors.get(entry.getKey());
+            System.out.printf("%-42s %9d %8.1f %9.2f %9.2f %9.2f %7d%n", entry.getKey(), values.size(), throughput,
+                    p50, p95, p99, failed);
+            json.add(String.format(Locale.ROOT, "  {\"endpoint\": \"%s\", \"virtualUsers\": %d, " +
+                            "\"requests\": %d, \"throughput\": %.2f, \"p50\": %.3f, \"p95\": %.3f, \"p99\": %.3f, " +
+                            "\"errors\": %d}", entry.getKey(), virtualUsers, values.size(), throughput, p50, p95, p99,
+                    failed));
+        }
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        Files.writeString(result, json.toString());
+        System.out.println("Results written to " + result.toAbsolutePath());
+    }
+
+    private static double percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1e6;
+    }
+
+    private class VirtualUser {
+        private final String baseUrl;
+        private final String email;
+        private final long userId;
+        private final long todoId;
+        private final long taskId;
+        private final long stateId;
+        private final boolean admin;
+        private final Random random;
+        private final HttpClient client;
+        private final Map<String, List<Long>> latencies = new LinkedHashMap<>();
+        private final Map<String, Integer> errors = new LinkedHashMap<>();
+        private String csrf;
+        private int sequence;
+
+        VirtualUser(String baseUrl, String email, long userId, long todoId, long taskId, long stateId,
+                    boolean admin, int seed) {
+            this.baseUrl = baseUrl;
+            this.email = email;
+            this.userId = userId;
+            this.todoId = todoId;
+            this.taskId = taskId;
+            this.stateId = stateId;
+            this.admin = admin;
+            this.random = new Random(seed);
+            this.client = HttpClient.newBuilder()
+                    .cookieHandler(new CookieManager())
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .build();
+        }
+
+        void login() {
+            csrf = token(get("/login").body());
+            HttpResponse<String> response = post("/login", Map.of("username", email, "password", PASSWORD));
+            String location = response.headers().firstValue("Location").orElse("");
+            if (location.contains("error")) {
+                throw new IllegalStateException("Login failed for " + email);
+            }
+            csrf = token(get("/tasks/create/todos/" + todoId).body());
+        }
+
+        void loop() throws InterruptedException {
+            while (running) {
+                int dice = random.nextInt(100);
+                if (dice < 40) {
+                    call(TODOS_OF_USER, () -> get("/todos/all/users/" + userId));
+                } else if (dice < 70) {
+                    call(TODO_TASKS, () -> get("/todos/" + todoId + "/tasks"));
+                } else if (dice < 80) {
+                    call(TASK_CREATE, () -> post("/tasks/create/todos/" + todoId, Map.of(
+                            "name", "Load task " + userId + "-" + sequence++,
+                            "priority", "MEDIUM",
+                            "todoId", String.valueOf(todoId))));
+                } else if (dice < 90 || !admin) {
+                    // Like a browser, submit the version the edit form was rendered with.
+                    String version = version(get("/tasks/" + taskId + "/update/todos/" + todoId).body());
+                    call(TASK_UPDATE, () -> post("/tasks/" + taskId + "/update/todos/" + todoId, Map.of(
+                            "id", String.valueOf(taskId),
+                            "name", "Updated task " + sequence++,
+                            "priority", "HIGH",
+                            "todoId", String.valueOf(todoId),
+                            "stateId", String.valueOf(stateId),
+                            "version", version)));
+                } else {
+                    call(USERS_ALL, () -> get("/users/all"));
+                }
+                if (thinkMillis > 0) {
+                    Thread.sleep(thinkMillis);
+                }
+            }
+        }
+
+        private void call(String endpoint, Supplier<HttpResponse<String>> request) {
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                int status = request.get().statusCode();
+                // A form that is shown again (validation error or edit conflict) is a failed write.
+                ok = endpoint.startsWith("POST ") ? status == 302 : status < 400;
+            } catch (UncheckedIOException e) {
+                ok = false;
+            }
+            long latency = System.nanoTime() - start;
+            if (recording) {
+                latencies.computeIfAbsent(endpoint, key -> new ArrayList<>()).add(latency);
+                if (!ok) {
+                    errors.merge(endpoint, 1, Integer::sum);
+                }
+            }
+        }
+
+        private HttpResponse<String> get(String path) {
+            return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build());
+        }
+
+        private HttpResponse<String> post(String path, Map<String, String> form) {
+            StringJoiner body = new StringJoiner("&");
+            form.forEach((key, value) -> body.add(encode(key) + "=" + encode(value)));
+            body.add("_csrf=" + encode(csrf));
+            return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build());
+        }
+
+        private HttpResponse<String> send(HttpRequest request) {
+            try {
+                return client.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private String token(String html) {
+            Matcher matcher = CSRF.matcher(html);
+            if (!matcher.find()) {
+                throw new IllegalStateException("No CSRF token for " + email);
+            }
+            return matcher.group(1);
+        }
+
+        private String version(String html) {
+            Matcher matcher = VERSION.matcher(html);
+            if (!matcher.find()) {
+                throw new IllegalStateException("No task version for " + email);
+            }
+            return matcher.group(1);
+        }
+
+        private String encode(String value) {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.softserve.itacademy.benchmark;
+
+import com.softserve.itacademy.model.State;
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.security.CustomUserDetailService;
+import com.softserve.itacademy.service.StateService;
+import com.softserve.itacademy.service.TaskService;
+import com.softserve.itacademy.service.ToDoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private ToDoService todoService;
+    private TaskService taskService;
+    private StateService stateService;
+    private CustomUserDetailService userDetailService;
+    private String email;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataSet.start(size);
+        todoService = context.getBean(ToDoService.class);
+        taskService = context.getBean(TaskService.class);
+        stateService = context.getBean(StateService.class);
+        userDetailService = context.getBean(CustomUserDetailService.class);
+        email = BenchmarkDataSet.email(BenchmarkDataSet.FIRST_ID + size / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ToDo> todoGetByUserId() {
+        return todoService.getByUserId(BenchmarkDataSet.OWNER_ID);
+    }
+
+    @Benchmark
+    public List<Task> taskGetByTodoId() {
+        return taskService.getByTodoId(BenchmarkDataSet.TODO_ID);
+    }
+
+    @Benchmark
+    public State stateGetByName() {
+        return stateService.getByName("Doing");
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userDetailService.loadUserByUsername(email);
+    }
+}
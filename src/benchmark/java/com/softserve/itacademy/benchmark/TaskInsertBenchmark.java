@@ -0,0 +1,82 @@
+package com.softserve.itacademy.benchmark;
+
+import com.softserve.itacademy.model.Priority;
+import com.softserve.itacademy.model.State;
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.ToDo;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+
+// Persists a whole import of tasks into one to-do in a single transaction.
+// batchSize=1 is what the identity ids forced on every insert before.
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskInsertBenchmark {
+
+    private static final long TODO_ID = 7;
+    private static final long STATE_ID = 5;
+    private static final int FLUSH_EVERY = 1_000;
+
+    @Param({"100000"})
+    private int tasks;
+
+    @Param({"1", "50", "500"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataSet.run(WebApplicationType.NONE);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteTasks() {
+        jdbcTemplate.update("delete from tasks where todo_id = ?", TODO_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void insertTasks() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            for (int i = 0; i < tasks; i++) {
+                if (i % FLUSH_EVERY == 0 && i > 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+                Task task = new Task();
+                task.setName("Imported Task #" + i);
+                task.setPriority(Priority.MEDIUM);
+                task.setTodo(entityManager.getReference(ToDo.class, TODO_ID));
+                task.setState(entityManager.getReference(State.class, STATE_ID));
+                entityManager.persist(task);
+            }
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.softserve.itacademy.benchmark;
+
+import com.softserve.itacademy.dto.TaskDto;
+import com.softserve.itacademy.dto.TaskTransformer;
+import com.softserve.itacademy.model.Priority;
+import com.softserve.itacademy.model.State;
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.ToDo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskTransformerBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private ToDo todo;
+    private State state;
+    private List<Task> tasks;
+    private List<TaskDto> dtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        todo = new ToDo();
+        todo.setId(1);
+        state = new State();
+        state.setId(5);
+        Priority[] priorities = Priority.values();
+        tasks = new ArrayList<>(size);
+        dtos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task();
+            task.setId(i);
+            task.setName("Task #" + i);
+            task.setPriority(priorities[i % priorities.length]);
+            task.setTodo(todo);
+            task.setState(state);
+            tasks.add(task);
+            dtos.add(TaskTransformer.convertToDto(task));
+        }
+    }
+
+    @Benchmark
+    public void convertToDto(Blackhole blackhole) {
+        for (Task task : tasks) {
+            blackhole.consume(TaskTransformer.convertToDto(task));
+        }
+    }
+
+    @Benchmark
+    public void convertToEntity(Blackhole blackhole) {
+        for (TaskDto dto : dtos) {
+            blackhole.consume(TaskTransformer.convertToEntity(dto, todo, state));
+        }
+    }
+}
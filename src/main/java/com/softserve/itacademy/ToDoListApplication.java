@@ -3,9 +3,13 @@ package com.softserve.itacademy;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.web.servlet.support.SpringBootServletInitializer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
+@EnableCaching
+@EnableScheduling
 public class ToDoListApplication extends SpringBootServletInitializer {
 
     public static void main(String[] args) {
@@ -1,9 +1,8 @@
 package com.softserve.itacademy.controller;
 
 import com.softserve.itacademy.model.User;
-import com.softserve.itacademy.security.CustomUserDetails;
+import com.softserve.itacademy.security.CurrentUser;
 import com.softserve.itacademy.service.UserService;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,19 +13,21 @@ import java.util.List;
 @Controller
 public class HomeController {
     private final UserService userService;
-    public HomeController(UserService userService) {
+    private final CurrentUser currentUser;
+
+    public HomeController(UserService userService, CurrentUser currentUser) {
         this.userService = userService;
+        this.currentUser = currentUser;
     }
 
 
     @GetMapping({"/", "home"})
     public String home(Model model) {
         List<User> users;
-        CustomUserDetails customUserDetails = (CustomUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (customUserDetails.getAuthorities().stream().anyMatch(u -> u.getAuthority().equals("ROLE_ADMIN"))) {
+        if (currentUser.isAdmin()) {
             users = userService.getAll();
         } else {
-            users = Collections.singletonList(userService.readById(customUserDetails.getId()));
+            users = Collections.singletonList(currentUser.getUser());
         }
 
         model.addAttribute("users", users);
@@ -1,33 +1,50 @@
 package com.softserve.itacademy.controller;
 
 import com.softserve.itacademy.dto.TaskDto;
+import com.softserve.itacademy.dto.TaskImportResult;
 import com.softserve.itacademy.dto.TaskTransformer;
 import com.softserve.itacademy.model.Priority;
 import com.softserve.itacademy.model.Task;
 import com.softserve.itacademy.service.StateService;
+import com.softserve.itacademy.service.TaskImportService;
 import com.softserve.itacademy.service.TaskService;
 import com.softserve.itacademy.service.ToDoService;
+import org.springframework.beans.BeanUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 @Controller
 @RequestMapping("/tasks")
 public class TaskController {
     private final TaskService taskService;
     private final ToDoService todoService;
     private final StateService stateService;
+    private final TaskImportService taskImportService;
 
-    public TaskController(TaskService taskService, ToDoService todoService, StateService stateService) {
+    public TaskController(TaskService taskService, ToDoService todoService, StateService stateService,
+                          TaskImportService taskImportService) {
         this.taskService = taskService;
         this.todoService = todoService;
         this.stateService = stateService;
+        this.taskImportService = taskImportService;
     }
 
-    @PreAuthorize("hasRole('ROLE_ADMIN') or authentication.principal.id == @toDoServiceImpl.readById(#todoId).owner.id")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @toDoAccessServiceImpl.isOwner(authentication.principal.id, #todoId)")
     @GetMapping("/create/todos/{todo_id}")
     public String create(@PathVariable("todo_id") long todoId, Model model) {
         model.addAttribute("task", new TaskDto());
@@ -36,7 +53,7 @@ public class TaskController {
         return "create-task";
     }
 
-    @PreAuthorize("hasRole('ROLE_ADMIN') or authentication.principal.id == @toDoServiceImpl.readById(#todoId).owner.id")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @toDoAccessServiceImpl.isOwner(authentication.principal.id, #todoId)")
     @PostMapping("/create/todos/{todo_id}")
     public String create(@PathVariable("todo_id") long todoId, Model model,
                          @Validated @ModelAttribute("task") TaskDto taskDto, BindingResult result) {
@@ -55,7 +72,21 @@ public class TaskController {
     }
 
 
-    @PreAuthorize("hasRole('ROLE_ADMIN') or authentication.principal.id == @toDoServiceImpl.readById(#todoId).owner.id")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @toDoAccessServiceImpl.isOwner(authentication.principal.id, #todoId)")
+    @PostMapping(value = "/import/todos/{todo_id}", consumes = {"text/csv", "application/x-ndjson"})
+    @ResponseBody
+    public TaskImportResult importTasks(@PathVariable("todo_id") long todoId, HttpServletRequest request)
+            throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        TaskImportService.Format format = "csv".equals(contentType.getSubtype())
+                ? TaskImportService.Format.CSV
+                : TaskImportService.Format.NDJSON;
+        return taskImportService.importTasks(todoId, new InputStreamReader(request.getInputStream(), charset), format);
+    }
+
+
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @toDoAccessServiceImpl.isOwner(authentication.principal.id, #todoId)")
     @GetMapping("/{task_id}/update/todos/{todo_id}")
     public String update(@PathVariable("task_id") long taskId, @PathVariable("todo_id") long todoId, Model model) {
         TaskDto taskDto = TaskTransformer.convertToDto(taskService.readById(taskId));
@@ -66,29 +97,90 @@ public class TaskController {
     }
 
 
-    @PreAuthorize("hasRole('ROLE_ADMIN') or authentication.principal.id == @toDoServiceImpl.readById(#todoId).owner.id")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @toDoAccessServiceImpl.isOwner(authentication.principal.id, #todoId)")
     @PostMapping("/{task_id}/update/todos/{todo_id}")
     public String update(@PathVariable("task_id") long taskId, @PathVariable("todo_id") long todoId, Model model,
-                         @Validated @ModelAttribute("task")TaskDto taskDto, BindingResult result) {
+                         @Validated @ModelAttribute("task")TaskDto taskDto, BindingResult result)
+            throws MissingServletRequestParameterException {
         if (result.hasErrors()) {
             model.addAttribute("priorities", Priority.values());
             model.addAttribute("states", stateService.getAll());
             return "update-task";
         }
+        if (taskDto.getVersion() == null) {
+            throw new MissingServletRequestParameterException("version", "long");
+        }
         Task task = TaskTransformer.convertToEntity(
                 taskDto,
                 todoService.readById(taskDto.getTodoId()),
                 stateService.readById(taskDto.getStateId())
         );
-        taskService.update(task);
+        try {
+            taskService.update(task);
+        } catch (OptimisticLockingFailureException e) {
+            BeanUtils.copyProperties(TaskTransformer.convertToDto(taskService.readById(taskId)), taskDto);
+            result.reject("conflict", "The task was changed by someone else in the meantime. "
+                    + "Its current values are shown, apply your changes again.");
+            model.addAttribute("priorities", Priority.values());
+            model.addAttribute("states", stateService.getAll());
+            return "update-task";
+        }
         return "redirect:/todos/" + todoId + "/tasks";
     }
 
 
-    @PreAuthorize("hasRole('ROLE_ADMIN') or authentication.principal.id == @toDoServiceImpl.readById(#todoId).owner.id")
+    // Used by drag and drop on the task board: one UPDATE per move, no task, to-do or state is loaded.
+    // With a version the move only applies if nobody changed the task since it was read, otherwise 409.
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @toDoAccessServiceImpl.isOwner(authentication.principal.id, #todoId)")
+    @PatchMapping("/{task_id}/state/todos/{todo_id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void updateState(@PathVariable("task_id") long taskId, @PathVariable("todo_id") long todoId,
+                            @RequestParam("state_id") long stateId,
+                            @RequestParam(value = "version", required = false) Long version) {
+        taskService.updateState(todoId, taskId, stateId, version);
+    }
+
+
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @toDoAccessServiceImpl.isOwner(authentication.principal.id, #todoId)")
+    @PatchMapping("/{task_id}/priority/todos/{todo_id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void updatePriority(@PathVariable("task_id") long taskId, @PathVariable("todo_id") long todoId,
+                               @RequestParam("priority") Priority priority,
+                               @RequestParam(value = "version", required = false) Long version) {
+        taskService.updatePriority(todoId, taskId, priority, version);
+    }
+
+
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @toDoAccessServiceImpl.isOwner(authentication.principal.id, #todoId)")
     @GetMapping("/{task_id}/delete/todos/{todo_id}")
     public String delete(@PathVariable("task_id") long taskId, @PathVariable("todo_id") long todoId) {
         taskService.delete(taskId);
         return "redirect:/todos/" + todoId + "/tasks";
     }
+
+
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @toDoAccessServiceImpl.isOwner(authentication.principal.id, #todoId)")
+    @PostMapping("/state/todos/{todo_id}")
+    public String updateState(@PathVariable("todo_id") long todoId, @RequestParam("ids") List<Long> taskIds,
+                              @RequestParam("state_id") long stateId) {
+        taskService.updateState(todoId, taskIds, stateId);
+        return "redirect:/todos/" + todoId + "/tasks";
+    }
+
+
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @toDoAccessServiceImpl.isOwner(authentication.principal.id, #todoId)")
+    @PostMapping("/priority/todos/{todo_id}")
+    public String updatePriority(@PathVariable("todo_id") long todoId, @RequestParam("ids") List<Long> taskIds,
+                                 @RequestParam("priority") Priority priority) {
+        taskService.updatePriority(todoId, taskIds, priority);
+        return "redirect:/todos/" + todoId + "/tasks";
+    }
+
+
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @toDoAccessServiceImpl.isOwner(authentication.principal.id, #todoId)")
+    @PostMapping("/delete/todos/{todo_id}")
+    public String delete(@PathVariable("todo_id") long todoId, @RequestParam("ids") List<Long> taskIds) {
+        taskService.delete(todoId, taskIds);
+        return "redirect:/todos/" + todoId + "/tasks";
+    }
 }
@@ -1,35 +1,52 @@
 package com.softserve.itacademy.controller;
 
+import com.softserve.itacademy.dto.ToDoPage;
+import com.softserve.itacademy.exception.UnsupportedExportFormatException;
 import com.softserve.itacademy.model.Task;
 import com.softserve.itacademy.model.ToDo;
-import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.security.CurrentUser;
 import com.softserve.itacademy.service.TaskService;
+import com.softserve.itacademy.service.ToDoExportService;
 import com.softserve.itacademy.service.ToDoService;
 import com.softserve.itacademy.service.UserService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 @Controller
 @RequestMapping("/todos")
 public class ToDoController {
 
+    private static final int PAGE_SIZE = 20;
+
     private final ToDoService todoService;
     private final TaskService taskService;
     private final UserService userService;
+    private final ToDoExportService exportService;
+    private final CurrentUser currentUser;
 
-    public ToDoController(ToDoService todoService, TaskService taskService, UserService userService) {
+    public ToDoController(ToDoService todoService, TaskService taskService, UserService userService,
+                          ToDoExportService exportService, CurrentUser currentUser) {
         this.todoService = todoService;
         this.taskService = taskService;
         this.userService = userService;
+        this.exportService = exportService;
+        this.currentUser = currentUser;
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN') or #ownerId==authentication.principal.id")
@@ -52,23 +69,15 @@ public class ToDoController {
         return "redirect:/todos/all/users/" + ownerId;
     }
 
-    @PreAuthorize("hasRole('ROLE_ADMIN') or " +
-            "authentication.principal.id==@toDoServiceImpl.readById(#id).owner.id or " +
-            "@toDoServiceImpl.readById(#id).collaborators" +
-            ".contains(@userServiceImpl.readById(authentication.principal.id))")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @toDoAccessServiceImpl.canRead(authentication.principal.id, #id)")
     @GetMapping("/{id}/tasks")
-    public String read(@PathVariable long id, Model model, Authentication authentication) {
-        ToDo todo = todoService.readById(id);
+    public String read(@PathVariable long id, Model model) {
+        ToDo todo = todoService.readByIdWithCollaborators(id);
         List<Task> tasks = taskService.getByTodoId(id);
-        List<User> users = userService.getAll().stream()
-                .filter(user -> user.getId() != todo.getOwner().getId()).collect(Collectors.toList());
-        User user = userService.getAll().stream().filter(u -> u.getUsername().equals(authentication.getName())).findFirst().orElse(null);
-        boolean isAdmin = authentication.getAuthorities().stream().anyMatch(a->a.getAuthority().equals("ROLE_ADMIN"));
         model.addAttribute("todo", todo);
         model.addAttribute("tasks", tasks);
-        model.addAttribute("users", users);
-        model.addAttribute("owner", todo.getOwner().equals(user));
-        model.addAttribute("isAdmin", isAdmin);
+        model.addAttribute("owner", todo.getOwner().getId() == currentUser.getId());
+        model.addAttribute("isAdmin", currentUser.isAdmin());
         return "todo-tasks";
     }
 
@@ -85,15 +94,29 @@ public class ToDoController {
     @PreAuthorize("hasRole('ROLE_ADMIN') or authentication.principal.id == #ownerId")
     @PostMapping("/{todo_id}/update/users/{owner_id}")
     public String update(@PathVariable("todo_id") long todoId, @PathVariable("owner_id") long ownerId,
-                         @Validated @ModelAttribute("todo") ToDo todo, BindingResult result) {
+                         @Validated @ModelAttribute("todo") ToDo todo, BindingResult result)
+            throws MissingServletRequestParameterException {
         if (result.hasErrors()) {
             todo.setOwner(userService.readById(ownerId));
             return "update-todo";
         }
+        if (todo.getVersion() == null) {
+            throw new MissingServletRequestParameterException("version", "long");
+        }
         ToDo oldTodo = todoService.readById(todoId);
         todo.setOwner(oldTodo.getOwner());
         todo.setCollaborators(oldTodo.getCollaborators());
-        todoService.update(todo);
+        try {
+            todoService.update(todo);
+        } catch (OptimisticLockingFailureException e) {
+            ToDo current = todoService.readById(todoId);
+            todo.setTitle(current.getTitle());
+            todo.setCreatedAt(current.getCreatedAt());
+            todo.setVersion(current.getVersion());
+            result.reject("conflict", "The to-do was changed by someone else in the meantime. "
+                    + "Its current values are shown, apply your changes again.");
+            return "update-todo";
+        }
         return "redirect:/todos/all/users/" + ownerId;
     }
 
@@ -106,34 +129,78 @@ public class ToDoController {
 
     @PreAuthorize("hasRole('ROLE_ADMIN') or #userId==authentication.principal.id")
     @GetMapping("/all/users/{user_id}")
-    public String getAll(@PathVariable("user_id") long userId, Authentication authentication, Model model) {
-        List<ToDo> todos = todoService.getByUserId(userId);
-        boolean isAdmin = authentication.getAuthorities().stream().anyMatch(a->a.getAuthority().equals("ROLE_ADMIN"));
-        model.addAttribute("todos", todos);
+    public String getAll(@PathVariable("user_id") long userId,
+                         @RequestParam(value = "after", required = false) String after,
+                         @RequestParam(value = "before", required = false) String before,
+                         Model model) {
+        ToDoPage page = todoService.getPageByUserId(userId, after, before, PAGE_SIZE);
+        model.addAttribute("todos", page.getTodos());
+        model.addAttribute("next", page.getNext());
+        model.addAttribute("previous", page.getPrevious());
         model.addAttribute("user", userService.readById(userId));
-        model.addAttribute("isAdmin", isAdmin);
+        model.addAttribute("isAdmin", currentUser.isAdmin());
         return "todos-user";
     }
 
 
+    @PreAuthorize("hasRole('ROLE_ADMIN') or #userId==authentication.principal.id")
+    @GetMapping("/all/users/{user_id}/export")
+    public void export(@PathVariable("user_id") long userId,
+                       @RequestParam(value = "format", defaultValue = "ndjson") String format,
+                       @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+                       HttpServletResponse response) throws IOException {
+        userService.readById(userId);
+        ToDoExportService.Format exportFormat = Arrays.stream(ToDoExportService.Format.values())
+                .filter(value -> value.name().equalsIgnoreCase(format))
+                .findFirst()
+                .orElseThrow(() -> new UnsupportedExportFormatException("Unsupported export format '" + format + "'"));
+        String fileName = "todos-user-" + userId + "." + exportFormat.name().toLowerCase(Locale.ROOT);
+        if (gzip) {
+            response.setContentType("application/gzip");
+            fileName += ".gz";
+        } else {
+            response.setContentType(exportFormat == ToDoExportService.Format.CSV
+                    ? "text/csv;charset=UTF-8"
+                    : "application/x-ndjson;charset=UTF-8");
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+
+        if (gzip) {
+            GzipResponseStream out = new GzipResponseStream(response.getOutputStream());
+            try {
+                exportService.export(userId, exportFormat, out);
+                out.finish();
+            } finally {
+                out.end();
+            }
+        } else {
+            exportService.export(userId, exportFormat, response.getOutputStream());
+        }
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @toDoAccessServiceImpl.isOwner(authentication.principal.id, #id)")
     @GetMapping("/{id}/add")
     public String addCollaborator(@PathVariable long id, @RequestParam("user_id") long userId) {
-        ToDo todo = todoService.readById(id);
-        List<User> collaborators = todo.getCollaborators();
-        collaborators.add(userService.readById(userId));
-        todo.setCollaborators(collaborators);
-        todoService.update(todo);
+        todoService.addCollaborator(id, userId);
         return "redirect:/todos/" + id + "/tasks";
     }
 
 
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @toDoAccessServiceImpl.isOwner(authentication.principal.id, #id)")
     @GetMapping("/{id}/remove")
     public String removeCollaborator(@PathVariable long id, @RequestParam("user_id") long userId) {
-        ToDo todo = todoService.readById(id);
-        List<User> collaborators = todo.getCollaborators();
-        collaborators.remove(userService.readById(userId));
-        todo.setCollaborators(collaborators);
-        todoService.update(todo);
+        todoService.removeCollaborator(id, userId);
         return "redirect:/todos/" + id + "/tasks";
     }
-}
\ No newline at end of file
+
+    // Ends the Deflater without closing the response stream, which may still carry an error page.
+    private static final class GzipResponseStream extends GZIPOutputStream {
+        private GzipResponseStream(OutputStream out) throws IOException {
+            super(out, 8192);
+        }
+
+        private void end() {
+            def.end();
+        }
+    }
+}
@@ -1,32 +1,42 @@
 package com.softserve.itacademy.controller;
 
+import com.softserve.itacademy.dto.UserDeletionProgress;
+import com.softserve.itacademy.dto.UserSuggestion;
 import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.security.CurrentUser;
 import com.softserve.itacademy.service.RoleService;
+import com.softserve.itacademy.service.UserDeletionService;
 import com.softserve.itacademy.service.UserService;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import javax.persistence.EntityNotFoundException;
-import java.security.Principal;
-
+import java.util.Collections;
+import java.util.List;
 
 
 @Controller
 @RequestMapping("/users")
 public class UserController {
 
+    private static final int MAX_SEARCH_LIMIT = 50;
+
     private final UserService userService;
     private final RoleService roleService;
+    private final UserDeletionService userDeletionService;
+    private final CurrentUser currentUser;
 
-    public UserController(UserService userService, RoleService roleService) {
+    public UserController(UserService userService, RoleService roleService,
+                          UserDeletionService userDeletionService, CurrentUser currentUser) {
         this.userService = userService;
         this.roleService = roleService;
+        this.userDeletionService = userDeletionService;
+        this.currentUser = currentUser;
     }
 
     @GetMapping("/create")
@@ -67,25 +77,12 @@ public class UserController {
     @PreAuthorize("hasRole('ROLE_ADMIN') or authentication.principal.id == #id")
     @PostMapping("/{id}/update")
     public String update(@PathVariable long id, Model model, @Validated @ModelAttribute("user") User user, @RequestParam("roleId") long roleId, BindingResult result) {
-        User oldUser = userService.readById(id);
-        String oldUserRole = oldUser.getRole().getName();
-        String userRole = roleService.readById(roleId).getName();
-
         if (result.hasErrors()) {
-            user.setRole(oldUser.getRole());
+            user.setRole(userService.readById(id).getRole());
             model.addAttribute("roles", roleService.getAll());
             return "update-user";
         }
-
-        long adminCount = userService.getAll().stream().filter(u->u.getRole().getName().equals("ADMIN")).count();
-
-        if( (userRole.equals("USER") && oldUserRole.equals("ADMIN") && adminCount == 1) ||
-                (userRole.equals("ADMIN") && oldUserRole.equals("USER") && adminCount == 2) ) {
-            user.setRole(oldUser.getRole());
-        } else {
-            user.setRole(roleService.readById(roleId));
-        }
-        userService.update(user);
+        userService.update(user, roleId);
         return "redirect:/users/" + id + "/read";
     }
 
@@ -94,28 +91,51 @@ public class UserController {
     @GetMapping("/{id}/delete")
     public String delete(@PathVariable("id") long id) {
         userService.delete(id);
-        if (SecurityContextHolder.getContext().getAuthentication()
-                .getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+        if (currentUser.isAdmin()) {
             return "redirect:/users/all";
         }
         return "redirect:/login";
     }
 
 
+    @PreAuthorize("hasRole('ROLE_ADMIN') or authentication.principal.id == #id")
+    @PostMapping("/{id}/delete/async")
+    public ResponseEntity<UserDeletionProgress> deleteAsync(@PathVariable("id") long id) {
+        return ResponseEntity.accepted().body(userDeletionService.start(id));
+    }
+
+
+    @PreAuthorize("hasRole('ROLE_ADMIN') or authentication.principal.id == #id")
+    @GetMapping("/{id}/delete/progress")
+    @ResponseBody
+    public UserDeletionProgress deleteProgress(@PathVariable("id") long id) {
+        return userDeletionService.getProgress(id);
+    }
+
+
     @Secured("ROLE_ADMIN")
     @GetMapping("/all")
     public String getAll(Model model) {
-        model.addAttribute("users", userService.getAll());
+        model.addAttribute("users", userService.getAllSummaries());
         return "users-list";
     }
 
 
+    // Only whoever may add collaborators to the to-do can look users up.
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @toDoAccessServiceImpl.isOwner(authentication.principal.id, #todoId)")
+    @GetMapping("/search")
+    @ResponseBody
+    public List<UserSuggestion> search(@RequestParam("todo_id") long todoId, @RequestParam("q") String query,
+                                       @RequestParam(value = "exclude", required = false) List<Long> excludedIds,
+                                       @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return userService.search(query,
+                excludedIds == null ? Collections.emptyList() : excludedIds,
+                Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)));
+    }
+
+
     @GetMapping("/user_todos")
-    public String getAllHeader(Principal principal) {
-        User user = userService.getAll().stream().filter(u -> u.getUsername().equals(principal.getName())).findFirst().orElse(null);
-        if (user != null) {
-            return "redirect:/todos/all/users/" + user.getId();
-        }
-        throw new EntityNotFoundException("Can't read current user!");
+    public String getAllHeader() {
+        return "redirect:/todos/all/users/" + currentUser.getId();
     }
 }
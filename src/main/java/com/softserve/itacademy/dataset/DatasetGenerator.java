@@ -0,0 +1,203 @@
+package com.softserve.itacademy.dataset;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+@Component
+@Profile("dataset")
+public class DatasetGenerator implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final String[] TABLES = {"roles", "users", "states", "todos", "tasks"};
+    private static final String[] FIRST_NAMES = {"Anna", "Bohdan", "Daria", "Ivan", "Maria", "Oleh", "Olena", "Taras"};
+    private static final String[] LAST_NAMES = {"Bondar", "Hnatiuk", "Kovalenko", "Melnyk", "Shevchenko", "Tkachuk"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final DatasetProperties properties;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            PasswordEncoder passwordEncoder, DatasetProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(String... args) {
+        generate();
+        restartSequences();
+    }
+
+    public void generate() {
+        Random random = new Random(properties.getSeed());
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Long> stateIds = generateStates();
+
+        long roleId = jdbcTemplate.queryForObject("select id from roles where name = 'USER'", Long.class);
+        String password = passwordEncoder.encode("password");
+        long firstUser = nextId("users");
+        int users = properties.getUsers();
+        insert("users", "insert into users (id, first_name, last_name, email, password, role_id) " +
+                "values (?, ?, ?, ?, ?, ?)", users, i -> new Object[]{
+                firstUser + i,
+                FIRST_NAMES[(int) (i % FIRST_NAMES.length)],
+                LAST_NAMES[(int) (i / FIRST_NAMES.length % LAST_NAMES.length)],
+                "user" + (firstUser + i) + "@generated.test",
+                password,
+                roleId});
+
+        long firstTodo = nextId("todos");
+        int todos = properties.getTodos();
+        int[] owners = new int[todos];
+        for (int i = 0; i < todos; i++) {
+            owners[i] = random.nextInt(users);
+        }
+        insert("todos", "insert into todos (id, title, created_at, owner_id) values (?, ?, ?, ?)", todos,
+                i -> new Object[]{
+                        firstTodo + i,
+                        "Generated To-Do #" + (firstTodo + i),
+                        Timestamp.valueOf(now.minusSeconds(random.nextInt(365 * 24 * 3600))),
+                        firstUser + owners[(int) i]});
+
+        insert("todo_collaborator", "insert into todo_collaborator (todo_id, collaborator_id) values (?, ?)",
+                collaborators(random, firstTodo, owners, firstUser, users));
+
+        long firstTask = nextId("tasks");
+        insert("tasks", "insert into tasks (id, name, priority, todo_id, state_id) values (?, ?, ?, ?, ?)",
+                properties.getTasks(), i -> new Object[]{
+                        firstTask + i,
+                        "Generated Task #" + (firstTask + i),
+                        PRIORITIES[random.nextInt(PRIORITIES.length)],
+                        firstTodo + skewed(random, properties.getTaskExponent(), todos),
+                        stateIds.get(random.nextInt(stateIds.size()))});
+    }
+
+    private List<Long> generateStates() {
+        int existing = jdbcTemplate.queryForObject("select count(*) from states", Integer.class);
+        long firstState = nextId("states");
+        insert("states", "insert into states (id, name) values (?, ?)",
+                Math.max(0, properties.getStates() - existing),
+                i -> new Object[]{firstState + i, "State #" + (firstState + i)});
+        return jdbcTemplate.queryForList("select id from states order by id", Long.class);
+    }
+
+    // Number of collaborators per to-do follows a power law: most to-dos are private,
+    // a few are shared with hundreds of users.
+    private Iterator<Object[]> collaborators(Random random, long firstTodo, int[] owners, long firstUser, int users) {
+        int max = Math.min(properties.getMaxCollaborators(), users - 1);
+        return new Iterator<Object[]>() {
+            private final List<Object[]> pending = new ArrayList<>();
+            private int todo;
+
+            @Override
+            public boolean hasNext() {
+                while (pending.isEmpty() && todo < owners.length) {
+                    int count = properties.getCollaboratorExponent() > 1
+                            ? Math.min(max, (int) pareto(random, properties.getCollaboratorExponent()) - 1)
+                            : random.nextInt(max + 1);
+                    Set<Integer> picked = new HashSet<>();
+                    picked.add(owners[todo]);
+                    while (picked.size() <= count) {
+                        int user = random.nextInt(users);
+                        if (picked.add(user)) {
+                            pending.add(new Object[]{firstTodo + todo, firstUser + user});
+                        }
+                    }
+                    todo++;
+                }
+                return !pending.isEmpty();
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return pending.remove(pending.size() - 1);
+            }
+        };
+    }
+
+    private static long skewed(Random random, double exponent, int bound) {
+        if (exponent <= 1) {
+            return random.nextInt(bound);
+        }
+        return Math.min(bound, (long) pareto(random, exponent)) - 1;
+    }
+
+    private static double pareto(Random random, double exponent) {
+        return Math.pow(1 - random.nextDouble(), -1 / (exponent - 1));
+    }
+
+    private void insert(String table, String sql, long rows, LongFunction<Object[]> row) {
+        insert(table, sql, new Iterator<Object[]>() {
+            private long next;
+
+            @Override
+            public boolean hasNext() {
+                return next < rows;
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return row.apply(next++);
+            }
+        });
+    }
+
+    private void insert(String table, String sql, Iterator<Object[]> rows) {
+        long start = System.nanoTime();
+        long[] inserted = {0};
+        while (rows.hasNext()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int batch = 0; batch < properties.getBatchesPerTransaction() && rows.hasNext(); batch++) {
+                    List<Object[]> args = new ArrayList<>(properties.getBatchSize());
+                    while (args.size() < properties.getBatchSize() && rows.hasNext()) {
+                        args.add(rows.next());
+                    }
+                    jdbcTemplate.batchUpdate(sql, args);
+                    inserted[0] += args.size();
+                }
+            });
+            logger.info("{}: {} rows inserted", table, inserted[0]);
+        }
+        logger.info("{}: {} rows in {} ms", table, inserted[0], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long nextId(String table) {
+        return jdbcTemplate.queryForObject("select coalesce(max(id), 0) + 1 from " + table, Long.class);
+    }
+
+    private void restartSequences() {
+        for (String table : TABLES) {
+            jdbcTemplate.execute("alter sequence " + table + "_seq restart with " + nextId(table));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.softserve.itacademy.dataset;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("dataset")
+@ConfigurationProperties("dataset")
+public class DatasetProperties {
+
+    private int users = 10_000;
+    private int todos = 100_000;
+    private int tasks = 1_000_000;
+    private int states = 4;
+
+    // Exponents of the power laws; values <= 1 turn the skew off.
+    private double collaboratorExponent = 2.0;
+    private int maxCollaborators = 500;
+    private double taskExponent = 0;
+
+    private int batchSize = 1_000;
+    private int batchesPerTransaction = 50;
+    private long seed = 42;
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public int getTodos() {
+        return todos;
+    }
+
+    public void setTodos(int todos) {
+        this.todos = todos;
+    }
+
+    public int getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(int tasks) {
+        this.tasks = tasks;
+    }
+
+    public int getStates() {
+        return states;
+    }
+
+    public void setStates(int states) {
+        this.states = states;
+    }
+
+    public double getCollaboratorExponent() {
+        return collaboratorExponent;
+    }
+
+    public void setCollaboratorExponent(double collaboratorExponent) {
+        this.collaboratorExponent = collaboratorExponent;
+    }
+
+    public int getMaxCollaborators() {
+        return maxCollaborators;
+    }
+
+    public void setMaxCollaborators(int maxCollaborators) {
+        this.maxCollaborators = maxCollaborators;
+    }
+
+    public double getTaskExponent() {
+        return taskExponent;
+    }
+
+    public void setTaskExponent(double taskExponent) {
+        this.taskExponent = taskExponent;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchesPerTransaction() {
+        return batchesPerTransaction;
+    }
+
+    public void setBatchesPerTransaction(int batchesPerTransaction) {
+        this.batchesPerTransaction = batchesPerTransaction;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+}
@@ -18,6 +18,8 @@ public class TaskDto {
     @NotNull
     private long stateId;
 
+    private Long version;
+
     public TaskDto() {
     }
 
@@ -68,4 +70,12 @@ public class TaskDto {
     public void setStateId(long stateId) {
         this.stateId = stateId;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
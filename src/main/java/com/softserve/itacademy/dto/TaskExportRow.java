@@ -0,0 +1,15 @@
+package com.softserve.itacademy.dto;
+
+import java.time.LocalDateTime;
+
+// One task of a to-do; the task columns are null for to-dos without tasks.
+public interface TaskExportRow {
+    long getTodoId();
+    String getTodoTitle();
+    LocalDateTime getCreatedAt();
+    long getOwnerId();
+    Long getTaskId();
+    String getTaskName();
+    String getPriority();
+    String getState();
+}
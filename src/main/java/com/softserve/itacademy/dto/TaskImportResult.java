@@ -0,0 +1,55 @@
+package com.softserve.itacademy.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskImportResult {
+
+    public static class RowError {
+        private final long line;
+        private final String message;
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    // Only the first errors are kept so that a broken upload cannot exhaust memory.
+    public static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private int imported;
+    private int failed;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void addImported(int count) {
+        imported += count;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void addError(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+}
@@ -7,13 +7,15 @@ import com.softserve.itacademy.model.ToDo;
 
 public class TaskTransformer {
     public static TaskDto convertToDto(Task task) {
-        return new TaskDto(
+        TaskDto taskDto = new TaskDto(
                 task.getId(),
                 task.getName(),
                 task.getPriority().toString(),
                 task.getTodo().getId(),
                 task.getState().getId()
         );
+        taskDto.setVersion(task.getVersion());
+        return taskDto;
     }
 
     public static Task convertToEntity(TaskDto taskDto, ToDo todo, State state) {
@@ -23,6 +25,9 @@ public class TaskTransformer {
         task.setPriority(Priority.valueOf(taskDto.getPriority()));
         task.setTodo(todo);
         task.setState(state);
+        if (taskDto.getVersion() != null) {
+            task.setVersion(taskDto.getVersion());
+        }
         return task;
     }
 }
@@ -0,0 +1,53 @@
+package com.softserve.itacademy.dto;
+
+import com.softserve.itacademy.exception.InvalidCursorException;
+import com.softserve.itacademy.model.ToDo;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public class ToDoCursor {
+    private static final String SEPARATOR = "_";
+
+    private final LocalDateTime createdAt;
+    private final long id;
+
+    public ToDoCursor(LocalDateTime createdAt, long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static ToDoCursor of(ToDo todo) {
+        return new ToDoCursor(todo.getCreatedAt(), todo.getId());
+    }
+
+    public static ToDoCursor of(TodoSummary todo) {
+        return new ToDoCursor(todo.getCreatedAt(), todo.getId());
+    }
+
+    public static ToDoCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new ToDoCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid page cursor '" + token + "'");
+        }
+    }
+
+    public String encode() {
+        String value = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
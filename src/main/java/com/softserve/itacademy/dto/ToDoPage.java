@@ -0,0 +1,27 @@
+package com.softserve.itacademy.dto;
+
+import java.util.List;
+
+public class ToDoPage {
+    private final List<TodoSummary> todos;
+    private final String next;
+    private final String previous;
+
+    public ToDoPage(List<TodoSummary> todos, String next, String previous) {
+        this.todos = todos;
+        this.next = next;
+        this.previous = previous;
+    }
+
+    public List<TodoSummary> getTodos() {
+        return todos;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public String getPrevious() {
+        return previous;
+    }
+}
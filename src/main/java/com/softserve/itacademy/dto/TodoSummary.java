@@ -0,0 +1,12 @@
+package com.softserve.itacademy.dto;
+
+import java.time.LocalDateTime;
+
+public interface TodoSummary {
+    long getId();
+    String getTitle();
+    LocalDateTime getCreatedAt();
+    long getOwnerId();
+    String getOwnerFirstName();
+    String getOwnerLastName();
+}
@@ -0,0 +1,61 @@
+package com.softserve.itacademy.dto;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class UserDeletionProgress {
+
+    public enum Status {
+        RUNNING, DONE, FAILED
+    }
+
+    private final long userId;
+    private final AtomicInteger deletedTodos = new AtomicInteger();
+    private volatile int totalTodos;
+    private volatile Status status = Status.RUNNING;
+    private volatile String error;
+
+    public UserDeletionProgress(long userId) {
+        this.userId = userId;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public int getTotalTodos() {
+        return totalTodos;
+    }
+
+    public void setTotalTodos(int totalTodos) {
+        this.totalTodos = totalTodos;
+    }
+
+    public int getDeletedTodos() {
+        return deletedTodos.get();
+    }
+
+    public void addDeletedTodos(int count) {
+        deletedTodos.addAndGet(count);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    public void done() {
+        status = Status.DONE;
+    }
+
+    public void failed(String error) {
+        this.error = error;
+        status = Status.FAILED;
+    }
+}
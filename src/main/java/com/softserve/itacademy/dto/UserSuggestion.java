@@ -0,0 +1,25 @@
+package com.softserve.itacademy.dto;
+
+public class UserSuggestion {
+    private final long id;
+    private final String firstName;
+    private final String lastName;
+
+    public UserSuggestion(long id, String firstName, String lastName) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+}
@@ -1,13 +1,17 @@
 package com.softserve.itacademy.exception;
 
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;import org.springframework.http.HttpStatus;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.ServletRequestBindingException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.ModelAndView;
 
 import javax.persistence.EntityNotFoundException;
@@ -24,11 +28,52 @@ public class GlobalExceptionHandler {
         return getModelAndView(request, HttpStatus.BAD_REQUEST, exception);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST)
+    public ModelAndView invalidCursorExceptionHandler(HttpServletRequest request, InvalidCursorException exception) {
+        return getModelAndView(request, HttpStatus.BAD_REQUEST, exception);
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST)
+    public ModelAndView invalidImportExceptionHandler(HttpServletRequest request, InvalidImportException exception) {
+        return getModelAndView(request, HttpStatus.BAD_REQUEST, exception);
+    }
+
+    @ExceptionHandler(UnsupportedExportFormatException.class)
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST)
+    public ModelAndView unsupportedExportFormatExceptionHandler(HttpServletRequest request,
+                                                                UnsupportedExportFormatException exception) {
+        return getModelAndView(request, HttpStatus.BAD_REQUEST, exception);
+    }
+
+    @ExceptionHandler(ServletRequestBindingException.class)
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST)
+    public ModelAndView servletRequestBindingExceptionHandler(HttpServletRequest request,
+                                                              ServletRequestBindingException exception) {
+        return getModelAndView(request, HttpStatus.BAD_REQUEST, exception);
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST)
+    public ModelAndView methodArgumentTypeMismatchExceptionHandler(HttpServletRequest request,
+                                                                   MethodArgumentTypeMismatchException exception) {
+        return getModelAndView(request, HttpStatus.BAD_REQUEST, exception);
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     @ResponseStatus(value= HttpStatus.NOT_FOUND)
     public ModelAndView entityNotFoundExceptionHandler(HttpServletRequest request, EntityNotFoundException exception) {
         return getModelAndView(request, HttpStatus.NOT_FOUND, exception);
     }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(value = HttpStatus.CONFLICT)
+    public ModelAndView optimisticLockingFailureExceptionHandler(HttpServletRequest request,
+                                                                 OptimisticLockingFailureException exception) {
+        return getModelAndView(request, HttpStatus.CONFLICT, exception);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     @ResponseStatus(value= HttpStatus.FORBIDDEN)
     public ModelAndView accessDeniedExeptionHandler(HttpServletRequest request, Exception exception) {
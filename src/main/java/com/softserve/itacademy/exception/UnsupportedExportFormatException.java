@@ -0,0 +1,7 @@
+package com.softserve.itacademy.exception;
+
+public class UnsupportedExportFormatException extends RuntimeException {
+    public UnsupportedExportFormatException(String message) {
+        super(message);
+    }
+}
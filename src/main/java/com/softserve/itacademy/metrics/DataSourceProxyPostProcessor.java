@@ -0,0 +1,38 @@
+package com.softserve.itacademy.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+public class DataSourceProxyPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private SqlLoggingProperties sqlLogging;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        sqlLogging = Binder.get(environment)
+                .bind(SqlLoggingProperties.PREFIX, SqlLoggingProperties.class)
+                .orElseGet(SqlLoggingProperties::new);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+            ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create((DataSource) bean)
+                    .name(beanName)
+                    .beforeQuery((execInfo, queryInfoList) -> QueryCounter.increment());
+            if (sqlLogging.isEnabled()) {
+                new SqlEventListener(sqlLogging).install(builder);
+            }
+            return builder.build();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,123 @@
+package com.softserve.itacademy.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Aspect
+@Component
+public class MethodMetricsAspect {
+
+    static final String TIMER = "todolist.method";
+    static final String ERRORS = "todolist.method.errors";
+    static final String RESULT_SIZE = "todolist.method.result.size";
+
+    private final MeterRegistry registry;
+    private final Map<String, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public MethodMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("bean(*ServiceImpl) || bean(*Repository)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMeters methodMeters = meters(joinPoint);
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            Object result = joinPoint.proceed();
+            sample.stop(methodMeters.timer);
+            int size = size(result);
+            if (size >= 0) {
+                methodMeters.resultSize.record(size);
+            }
+            return result;
+        } catch (Throwable e) {
+            sample.stop(methodMeters.failed(e));
+            throw e;
+        }
+    }
+
+    private MethodMeters meters(ProceedingJoinPoint joinPoint) {
+        Class<?> target = ClassUtils.getUserClass(joinPoint.getTarget());
+        String method = joinPoint.getSignature().getName();
+        return meters.computeIfAbsent(target.getName() + '#' + method,
+                key -> new MethodMeters(layer(target), typeName(target), method));
+    }
+
+    // Spring Data repositories are JDK proxies; tag them with the repository interface.
+    private static String typeName(Class<?> target) {
+        if (Proxy.isProxyClass(target)) {
+            for (Class<?> type : target.getInterfaces()) {
+                if (type.getSimpleName().endsWith("Repository")) {
+                    return type.getSimpleName();
+                }
+            }
+        }
+        return target.getSimpleName();
+    }
+
+    private static String layer(Class<?> target) {
+        return typeName(target).endsWith("Repository") ? "repository" : "service";
+    }
+
+    private static int size(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    private final class MethodMeters {
+        private final String layer;
+        private final String type;
+        private final String method;
+        private final Timer timer;
+        private final DistributionSummary resultSize;
+
+        private MethodMeters(String layer, String type, String method) {
+            this.layer = layer;
+            this.type = type;
+            this.method = method;
+            this.timer = timer("none");
+            this.resultSize = DistributionSummary.builder(RESULT_SIZE)
+                    .description("Number of elements returned by service and repository methods")
+                    .tags("layer", layer, "class", type, "method", method)
+                    .register(registry);
+        }
+
+        private Timer failed(Throwable e) {
+            String exception = e.getClass().getSimpleName();
+            Counter.builder(ERRORS)
+                    .description("Exceptions thrown by service and repository methods")
+                    .tags("layer", layer, "class", type, "method", method, "exception", exception)
+                    .register(registry)
+                    .increment();
+            return timer(exception);
+        }
+
+        private Timer timer(String exception) {
+            return Timer.builder(TIMER)
+                    .description("Latency of service and repository methods")
+                    .tags("layer", layer, "class", type, "method", method, "exception", exception)
+                    .register(registry);
+        }
+    }
+}
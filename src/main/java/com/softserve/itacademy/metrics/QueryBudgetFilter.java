@@ -0,0 +1,89 @@
+package com.softserve.itacademy.metrics;
+
+import com.softserve.itacademy.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// Runs ahead of the security filter chain so that statements issued while
+// authenticating and while rendering views under OSIV are counted too.
+// In FAIL mode the budget is enforced per statement once the handler is known: the statement
+// that crosses it throws, so the request fails with an error page instead of a rendered 200.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT = QueryBudgetFilter.class.getName() + ".STATEMENT_COUNT";
+    static final String STATEMENTS = "todolist.request.statements";
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry registry;
+
+    public QueryBudgetFilter(QueryBudgetProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return properties.getMode() == QueryBudgetProperties.Mode.OFF;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        int count;
+        try (QueryCounter.Scope scope = QueryCounter.start()) {
+            if (properties.getMode() == QueryBudgetProperties.Mode.FAIL) {
+                scope.enforce(statements -> {
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    if (pattern != null) {
+                        String endpoint = request.getMethod() + ' ' + pattern;
+                        int limit = properties.limitFor(endpoint);
+                        if (statements > limit) {
+                            throw new QueryBudgetExceededException(message(endpoint, statements, limit));
+                        }
+                    }
+                });
+            }
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                count = scope.count();
+                request.setAttribute(STATEMENT_COUNT, count);
+            }
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder(STATEMENTS)
+                .description("JDBC statements executed per HTTP request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(registry)
+                .record(count);
+
+        String endpoint = request.getMethod() + ' ' + uri;
+        int limit = properties.limitFor(endpoint);
+        if (count > limit) {
+            logger.warn(message(endpoint, count, limit));
+        }
+    }
+
+    private static String message(String endpoint, int count, int limit) {
+        return String.format("%s executed %d statements, budget is %d", endpoint, count, limit);
+    }
+}
@@ -0,0 +1,66 @@
+package com.softserve.itacademy.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@ConfigurationProperties("todolist.query-budget")
+public class QueryBudgetProperties {
+
+    public enum Mode {
+        OFF, WARN, FAIL
+    }
+
+    private Mode mode = Mode.WARN;
+    private int defaultLimit = 10;
+
+    // Keyed by "<METHOD> <handler pattern>", e.g. "GET /todos/{id}/tasks".
+    private Map<String, Integer> limits = new HashMap<>();
+
+    // Measured, but neither warned about nor enforced.
+    private Set<String> exempt = new HashSet<>();
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(int defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public Map<String, Integer> getLimits() {
+        return limits;
+    }
+
+    public void setLimits(Map<String, Integer> limits) {
+        this.limits = limits;
+    }
+
+    public Set<String> getExempt() {
+        return exempt;
+    }
+
+    public void setExempt(Set<String> exempt) {
+        this.exempt = exempt;
+    }
+
+    public int limitFor(String endpoint) {
+        if (exempt.contains(endpoint)) {
+            return Integer.MAX_VALUE;
+        }
+        return limits.getOrDefault(endpoint, defaultLimit);
+    }
+}
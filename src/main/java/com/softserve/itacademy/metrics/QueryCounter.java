@@ -0,0 +1,61 @@
+package com.softserve.itacademy.metrics;
+
+// Counts JDBC statements executed on the current thread. Scopes nest, so a test can
+// open its own scope around a MockMvc call that also opens one in QueryBudgetFilter.
+// A scope with a budget checks it before each statement runs, so an exceeded budget
+// fails the statement itself, while the handler can still turn it into an error response.
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static Scope start() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void increment() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.count++;
+        }
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            if (scope.budget != null) {
+                scope.budget.check(scope.count);
+            }
+        }
+    }
+
+    public interface Budget {
+        void check(int count);
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private int count;
+        private Budget budget;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public void enforce(Budget budget) {
+            this.budget = budget;
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
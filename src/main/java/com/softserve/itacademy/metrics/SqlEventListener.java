@@ -0,0 +1,189 @@
+package com.softserve.itacademy.metrics;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.jdk.JdkJdbcProxyFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Emits one structured line per sampled or slow statement to the "todolist.sql" logger.
+// The sampling decision is made before the statement runs, and only the result sets of sampled
+// or slow reads are wrapped to count rows, so other traffic pays nothing per row. A read is
+// logged once its result set is exhausted or closed.
+public class SqlEventListener implements QueryExecutionListener {
+
+    static final String LOGGER = "todolist.sql";
+
+    private static final Logger logger = LoggerFactory.getLogger(LOGGER);
+
+    private final SqlLoggingProperties properties;
+    private final long slowThresholdMillis;
+    private final ThreadLocal<Observation> current = new ThreadLocal<>();
+
+    public SqlEventListener(SqlLoggingProperties properties) {
+        this.properties = properties;
+        this.slowThresholdMillis = properties.getSlowThreshold().toMillis();
+    }
+
+    public ProxyDataSourceBuilder install(ProxyDataSourceBuilder builder) {
+        return builder.listener(this)
+                .proxyResultSet()
+                .jdbcProxyFactory(new RowCountingProxyFactory());
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        current.set(new Observation(ThreadLocalRandom.current().nextDouble() < properties.getSampleRate()));
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Observation observation = current.get();
+        current.remove();
+        boolean slow = execInfo.getElapsedTime() >= slowThresholdMillis
+                || (observation != null && observation.slow);
+        if (!slow && (observation == null || !observation.sampled)) {
+            return;
+        }
+        String details = format(execInfo, queryInfoList, slow);
+        if (observation != null && observation.rows != null) {
+            observation.rows.logWhenRead(execInfo.getElapsedTime(), details, slow);
+        } else {
+            log(execInfo.getElapsedTime(), rows(execInfo.getResult()), details, slow);
+        }
+    }
+
+    private String format(ExecutionInfo execInfo, List<QueryInfo> queryInfoList, boolean slow) {
+        String statement = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        if (statement.length() > properties.getMaxStatementLength()) {
+            statement = statement.substring(0, properties.getMaxStatementLength()) + "...";
+        }
+        int binds = 0;
+        for (QueryInfo queryInfo : queryInfoList) {
+            for (List<?> parameters : queryInfo.getParametersList()) {
+                binds += parameters.size();
+            }
+        }
+        return " binds=" + binds
+                + " batch=" + (execInfo.isBatch() ? execInfo.getBatchSize() : 0)
+                + " success=" + execInfo.isSuccess()
+                + " slow=" + slow
+                + " statement=\"" + statement.replace('\n', ' ').replace("\"", "\\\"") + '"';
+    }
+
+    private static void log(long durationMillis, long rows, String details, boolean slow) {
+        String line = "sql duration_ms=" + durationMillis + (rows < 0 ? "" : " rows=" + rows) + details;
+        if (slow) {
+            logger.warn(line);
+        } else {
+            logger.info(line);
+        }
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Integer || result instanceof Long) {
+            return ((Number) result).longValue();
+        }
+        if (result instanceof int[]) {
+            long rows = 0;
+            for (int count : (int[]) result) {
+                rows += Math.max(count, 0);
+            }
+            return rows;
+        }
+        return -1;
+    }
+
+    private static final class Observation {
+        private final boolean sampled;
+        private final long startNanos = System.nanoTime();
+        private boolean slow;
+        private RowCounter rows;
+
+        private Observation(boolean sampled) {
+            this.sampled = sampled;
+        }
+    }
+
+    // Hands out the driver's own result set unless the running statement is sampled or already slow.
+    private final class RowCountingProxyFactory extends JdkJdbcProxyFactory {
+        @Override
+        public ResultSet createResultSet(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+            Observation observation = current.get();
+            if (observation == null) {
+                return resultSet;
+            }
+            observation.slow = (System.nanoTime() - observation.startNanos) / 1_000_000 >= slowThresholdMillis;
+            if (!observation.sampled && !observation.slow) {
+                return resultSet;
+            }
+            observation.rows = new RowCounter(resultSet);
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, observation.rows);
+        }
+    }
+
+    private static final class RowCounter implements InvocationHandler {
+        private final ResultSet resultSet;
+        private long rows;
+        private boolean done;
+        private long durationMillis;
+        private String details;
+        private boolean slow;
+
+        private RowCounter(ResultSet resultSet) {
+            this.resultSet = resultSet;
+        }
+
+        private void logWhenRead(long durationMillis, String details, boolean slow) {
+            this.durationMillis = durationMillis;
+            this.details = details;
+            this.slow = slow;
+            if (done) {
+                log(durationMillis, rows, details, slow);
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            try {
+                result = method.invoke(resultSet, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            String name = method.getName();
+            if (name.equals("next")) {
+                if ((Boolean) result) {
+                    rows++;
+                } else {
+                    finish();
+                }
+            } else if (name.equals("close")) {
+                finish();
+            }
+            return result;
+        }
+
+        private void finish() {
+            if (!done) {
+                done = true;
+                if (details != null) {
+                    log(durationMillis, rows, details, slow);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.softserve.itacademy.metrics;
+
+import java.time.Duration;
+
+// Bound from "todolist.sql-logging" by DataSourceProxyPostProcessor, which runs
+// before regular beans and so cannot take a @ConfigurationProperties bean.
+public class SqlLoggingProperties {
+
+    static final String PREFIX = "todolist.sql-logging";
+
+    private boolean enabled = true;
+
+    // Fraction of statements logged regardless of their duration.
+    private double sampleRate = 0.01;
+
+    // Statements at least this slow are always logged, at WARN.
+    private Duration slowThreshold = Duration.ofMillis(200);
+
+    private int maxStatementLength = 2_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+
+    public int getMaxStatementLength() {
+        return maxStatementLength;
+    }
+
+    public void setMaxStatementLength(int maxStatementLength) {
+        this.maxStatementLength = maxStatementLength;
+    }
+}
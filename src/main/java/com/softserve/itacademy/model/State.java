@@ -1,14 +1,19 @@
 package com.softserve.itacademy.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "states")
 public class State {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "states_seq")
+    @SequenceGenerator(name = "states_seq", sequenceName = "states_seq", allocationSize = 50)
     private long id;
 
     @NotBlank(message = "The 'name' cannot be empty")
@@ -5,10 +5,13 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_todo_id_id", columnList = "todo_id, id"),
+        @Index(name = "idx_tasks_state_id", columnList = "state_id")})
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private long id;
 
     @Column(name = "name", nullable = false)
@@ -26,6 +29,10 @@ public class Task {
     @JoinColumn(name = "state_id")
     private State state;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public Task() {
     }
 
@@ -69,6 +76,14 @@ public class Task {
         this.state = state;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Task {" +
@@ -8,10 +8,12 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = @Index(name = "idx_todos_owner_id_created_at_id",
+        columnList = "owner_id, created_at, id"))
 public class ToDo {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_seq")
+    @SequenceGenerator(name = "todos_seq", sequenceName = "todos_seq", allocationSize = 50)
     private long id;
 
     @NotBlank(message = "The 'title' cannot be empty")
@@ -25,14 +27,21 @@ public class ToDo {
     @JoinColumn(name = "owner_id")
     private User owner;
 
-    @OneToMany(mappedBy = "todo", cascade = CascadeType.REMOVE)
+    @OneToMany(mappedBy = "todo")
     private List<Task> tasks;
 
     @ManyToMany
     @JoinTable(name = "todo_collaborator",
             joinColumns = @JoinColumn(name = "todo_id"),
-            inverseJoinColumns = @JoinColumn(name = "collaborator_id"))
-    private List<User> collaborators;
+            inverseJoinColumns = @JoinColumn(name = "collaborator_id"),
+            indexes = @Index(name = "idx_todo_collaborator_collaborator_id_todo_id",
+                    columnList = "collaborator_id, todo_id"))
+    @OrderBy("id")
+    private Set<User> collaborators;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 
     public ToDo() {
     }
@@ -77,14 +86,22 @@ public class ToDo {
         this.tasks = tasks;
     }
 
-    public List<User> getCollaborators() {
+    public Set<User> getCollaborators() {
         return collaborators;
     }
 
-    public void setCollaborators(List<User> users) {
+    public void setCollaborators(Set<User> users) {
         this.collaborators = users;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "ToDo {" +
@@ -3,12 +3,14 @@ package com.softserve.itacademy.model;
 import javax.persistence.*;
 import javax.validation.constraints.Pattern;
 import java.util.List;
+import java.util.Set;
 
 @Entity
 @Table(name = "users")
 public class User  {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private long id;
 
     @Pattern(regexp = "[A-Z][a-z]+",
@@ -34,14 +36,11 @@ public class User  {
     @JoinColumn(name = "role_id")
     private Role role;
 
-    @OneToMany(mappedBy = "owner", cascade = CascadeType.REMOVE)
+    @OneToMany(mappedBy = "owner")
     private List<ToDo> myTodos;
 
-    @ManyToMany
-    @JoinTable(name = "todo_collaborator",
-        joinColumns = @JoinColumn(name = "collaborator_id"),
-        inverseJoinColumns = @JoinColumn(name = "todo_id"))
-    private List<ToDo> otherTodos;
+    @ManyToMany(mappedBy = "collaborators")
+    private Set<ToDo> otherTodos;
 
     public User() {
     }
@@ -102,11 +101,11 @@ public class User  {
         this.myTodos = myTodos;
     }
 
-    public List<ToDo> getOtherTodos() {
+    public Set<ToDo> getOtherTodos() {
         return otherTodos;
     }
 
-    public void setOtherTodos(List<ToDo> todos) {
+    public void setOtherTodos(Set<ToDo> todos) {
         this.otherTodos = todos;
     }
 
@@ -114,6 +113,19 @@ public class User  {
         return email;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof User)) return false;
+        User user = (User) o;
+        return id != 0 && id == user.getId();
+    }
+
+    @Override
+    public int hashCode() {
+        return User.class.hashCode();
+    }
+
     @Override
     public String toString() {
         return "User {" +
@@ -1,16 +1,81 @@
 package com.softserve.itacademy.repository;
 
+import com.softserve.itacademy.dto.TaskExportRow;
+import com.softserve.itacademy.model.Priority;
 import com.softserve.itacademy.model.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
-    @Query(value = "select * from tasks where todo_id = ?1", nativeQuery = true)
+    @Query("select t from Task t left join fetch t.state join fetch t.todo td left join fetch td.owner o " +
+            "left join fetch o.role where td.id = ?1 order by t.id")
     List<Task> getByTodoId(long todoId);
 
+    // Only matches when the task belongs to the to-do and the state exists, so nothing has to be read first.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.state.id = ?3, t.version = t.version + 1 where t.todo.id = ?1 and t.id = ?2 " +
+            "and exists (select s.id from State s where s.id = ?3)")
+    int updateStateById(long todoId, long id, long stateId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.state.id = ?3, t.version = t.version + 1 where t.todo.id = ?1 and t.id = ?2 " +
+            "and t.version = ?4 and exists (select s.id from State s where s.id = ?3)")
+    int updateStateByIdAndVersion(long todoId, long id, long stateId, long version);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.priority = ?3, t.version = t.version + 1 where t.todo.id = ?1 and t.id = ?2")
+    int updatePriorityById(long todoId, long id, Priority priority);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.priority = ?3, t.version = t.version + 1 " +
+            "where t.todo.id = ?1 and t.id = ?2 and t.version = ?4")
+    int updatePriorityByIdAndVersion(long todoId, long id, Priority priority, long version);
+
+    boolean existsByTodoIdAndIdAndVersionNot(long todoId, long id, long version);
+
+    // The to-do id restricts every batch statement to tasks of the to-do the caller was authorized for.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.state.id = ?3, t.version = t.version + 1 " +
+            "where t.todo.id = ?1 and t.id in ?2")
+    int updateStateByIds(long todoId, Collection<Long> ids, long stateId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.priority = ?3, t.version = t.version + 1 " +
+            "where t.todo.id = ?1 and t.id in ?2")
+    int updatePriorityByIds(long todoId, Collection<Long> ids, Priority priority);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Task t where t.todo.id = ?1 and t.id in ?2")
+    int deleteByIds(long todoId, Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Task t where t.todo.id in ?1")
+    int deleteByTodoIds(Collection<Long> todoIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Task t where t.todo.id in (select td.id from ToDo td where td.owner.id = ?1)")
+    int deleteByOwnerId(long ownerId);
+
+    // Must be consumed inside a transaction; rows are fetched from the cursor in blocks of 500.
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "select t.id as \"todoId\", t.title as \"todoTitle\", t.created_at as \"createdAt\", " +
+            "t.owner_id as \"ownerId\", k.id as \"taskId\", k.name as \"taskName\", k.priority as \"priority\", " +
+            "s.name as \"state\" from (select id from todos where owner_id = ?1 union " +
+            "select todo_id from todo_collaborator where collaborator_id = ?1) u " +
+            "inner join todos t on t.id = u.id " +
+            "left join tasks k on k.todo_id = t.id " +
+            "left join states s on s.id = k.state_id " +
+            "order by t.created_at, t.id, k.id", nativeQuery = true)
+    Stream<TaskExportRow> streamExportByUserId(long userId);
+
 }
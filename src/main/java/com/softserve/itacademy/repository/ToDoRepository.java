@@ -1,18 +1,94 @@
 package com.softserve.itacademy.repository;
 
+import com.softserve.itacademy.dto.TodoSummary;
 import com.softserve.itacademy.model.ToDo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ToDoRepository extends JpaRepository<ToDo, Long> {
 
-    @Query(value = "select id, title, created_at, owner_id from todos where owner_id = ?1 union " +
-            "select id, title, created_at, owner_id from todos inner join todo_collaborator on id = todo_id and " +
-            "collaborator_id = ?1", nativeQuery = true)
+    @Query("select distinct td from ToDo td left join fetch td.owner o left join fetch o.role " +
+            "left join fetch td.collaborators c left join fetch c.role where td.id = ?1")
+    Optional<ToDo> findWithCollaboratorsById(long id);
+
+    @Query(value = "select case when exists(select 1 from todos where id = ?1 and owner_id = ?2) then 2 " +
+            "when exists(select 1 from todo_collaborator where todo_id = ?1 and collaborator_id = ?2) then 1 " +
+            "else 0 end", nativeQuery = true)
+    int getAccessLevel(long todoId, long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert into todo_collaborator (todo_id, collaborator_id) " +
+            "select t.id, u.id from todos t, users u where t.id = ?1 and u.id = ?2 and not exists " +
+            "(select 1 from todo_collaborator where todo_id = ?1 and collaborator_id = ?2)", nativeQuery = true)
+    int addCollaborator(long todoId, long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from todo_collaborator where todo_id = ?1 and collaborator_id = ?2", nativeQuery = true)
+    int removeCollaborator(long todoId, long userId);
+
+    @Query("select td.id from ToDo td where td.owner.id = ?1 order by td.id")
+    List<Long> getIdsByOwnerId(long ownerId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from todo_collaborator where todo_id in ?1", nativeQuery = true)
+    int deleteCollaboratorsByTodoIds(Collection<Long> todoIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from todo_collaborator where collaborator_id = ?1 or " +
+            "todo_id in (select id from todos where owner_id = ?1)", nativeQuery = true)
+    int deleteCollaboratorsByUserId(long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from ToDo td where td.id in ?1")
+    int deleteByIds(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from ToDo td where td.owner.id = ?1")
+    int deleteByOwnerId(long ownerId);
+
+    @Query(value = "select id, title, created_at, owner_id, version from todos where owner_id = ?1 union " +
+            "select id, title, created_at, owner_id, version from todos inner join todo_collaborator " +
+            "on id = todo_id and collaborator_id = ?1 order by created_at, id", nativeQuery = true)
     List<ToDo> getByUserId(long userId);
 
+    @Query(value = "select p.id as \"id\", p.title as \"title\", p.created_at as \"createdAt\", " +
+            "u.id as \"ownerId\", u.first_name as \"ownerFirstName\", u.last_name as \"ownerLastName\" from (" +
+            "(select id, title, created_at, owner_id from todos where owner_id = ?1 " +
+            "order by created_at, id limit ?2) union " +
+            "(select id, title, created_at, owner_id from todos inner join todo_collaborator on id = todo_id and " +
+            "collaborator_id = ?1 order by created_at, id limit ?2)) p " +
+            "inner join users u on u.id = p.owner_id " +
+            "order by p.created_at, p.id limit ?2", nativeQuery = true)
+    List<TodoSummary> getFirstPageByUserId(long userId, int limit);
+
+    @Query(value = "select p.id as \"id\", p.title as \"title\", p.created_at as \"createdAt\", " +
+            "u.id as \"ownerId\", u.first_name as \"ownerFirstName\", u.last_name as \"ownerLastName\" from (" +
+            "(select id, title, created_at, owner_id from todos where owner_id = ?1 " +
+            "and (created_at > ?2 or (created_at = ?2 and id > ?3)) order by created_at, id limit ?4) union " +
+            "(select id, title, created_at, owner_id from todos inner join todo_collaborator on id = todo_id and " +
+            "collaborator_id = ?1 where created_at > ?2 or (created_at = ?2 and id > ?3) " +
+            "order by created_at, id limit ?4)) p " +
+            "inner join users u on u.id = p.owner_id " +
+            "order by p.created_at, p.id limit ?4", nativeQuery = true)
+    List<TodoSummary> getPageByUserIdAfter(long userId, LocalDateTime createdAt, long id, int limit);
+
+    @Query(value = "select p.id as \"id\", p.title as \"title\", p.created_at as \"createdAt\", " +
+            "u.id as \"ownerId\", u.first_name as \"ownerFirstName\", u.last_name as \"ownerLastName\" from (" +
+            "(select id, title, created_at, owner_id from todos where owner_id = ?1 " +
+            "and (created_at < ?2 or (created_at = ?2 and id < ?3)) order by created_at desc, id desc limit ?4) union " +
+            "(select id, title, created_at, owner_id from todos inner join todo_collaborator on id = todo_id and " +
+            "collaborator_id = ?1 where created_at < ?2 or (created_at = ?2 and id < ?3) " +
+            "order by created_at desc, id desc limit ?4)) p " +
+            "inner join users u on u.id = p.owner_id " +
+            "order by p.created_at desc, p.id desc limit ?4", nativeQuery = true)
+    List<TodoSummary> getPageByUserIdBefore(long userId, LocalDateTime createdAt, long id, int limit);
+
 }
@@ -1,9 +1,13 @@
 package com.softserve.itacademy.repository;
 
+import com.softserve.itacademy.dto.UserSummary;
 import com.softserve.itacademy.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +15,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    long countByRoleName(String roleName);
+
+    @Query("select u.id as id, u.firstName as firstName, u.lastName as lastName, u.email as email " +
+            "from User u order by u.id")
+    List<UserSummary> getAllSummaries();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from User u where u.id = ?1")
+    int removeById(long id);
+
 }
@@ -0,0 +1,45 @@
+package com.softserve.itacademy.security;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.stereotype.Component;
+
+// Runs before SecurityConfig and only for /actuator/**, so HTTP Basic for the Prometheus
+// scrape is not accepted by the rest of the application.
+@Component
+@Order(1)
+public class ActuatorSecurityConfig extends WebSecurityConfigurerAdapter {
+
+    private final DaoAuthenticationProvider authProvider;
+
+    public ActuatorSecurityConfig(DaoAuthenticationProvider authProvider) {
+        this.authProvider = authProvider;
+    }
+
+    @Override
+    protected void configure(HttpSecurity http) throws Exception {
+
+        http
+                    .antMatcher("/actuator/**")
+                    .authorizeRequests()
+                    .antMatchers("/actuator/health")
+                    .permitAll()
+                    .anyRequest()
+                    .hasRole("ADMIN")
+                .and()
+                    .httpBasic()
+                .and()
+                    .sessionManagement()
+                    .sessionCreationPolicy(SessionCreationPolicy.NEVER);
+    }
+
+
+    @Override
+    protected void configure(AuthenticationManagerBuilder auth) {
+        auth.authenticationProvider(authProvider);
+    }
+}
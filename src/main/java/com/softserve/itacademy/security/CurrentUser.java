@@ -0,0 +1,59 @@
+package com.softserve.itacademy.security;
+
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.UserService;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import javax.persistence.EntityNotFoundException;
+
+@Component
+@RequestScope
+public class CurrentUser {
+    private final UserService userService;
+    private final UserRepository userRepository;
+
+    private User user;
+
+    public CurrentUser(UserService userService, UserRepository userRepository) {
+        this.userService = userService;
+        this.userRepository = userRepository;
+    }
+
+    public long getId() {
+        Object principal = getAuthentication().getPrincipal();
+        if (principal instanceof CustomUserDetails) {
+            return ((CustomUserDetails) principal).getId();
+        }
+        return getUser().getId();
+    }
+
+    public User getUser() {
+        if (user == null) {
+            Authentication authentication = getAuthentication();
+            if (authentication.getPrincipal() instanceof CustomUserDetails) {
+                user = userService.readById(((CustomUserDetails) authentication.getPrincipal()).getId());
+            } else {
+                user = userRepository.findByEmail(authentication.getName())
+                        .orElseThrow(() -> new EntityNotFoundException("Can't read current user!"));
+            }
+        }
+        return user;
+    }
+
+    public boolean isAdmin() {
+        return getAuthentication().getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    }
+
+    private Authentication getAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new EntityNotFoundException("Can't read current user!");
+        }
+        return authentication;
+    }
+}
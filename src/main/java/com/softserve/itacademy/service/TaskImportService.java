@@ -0,0 +1,15 @@
+package com.softserve.itacademy.service;
+
+import com.softserve.itacademy.dto.TaskImportResult;
+
+import java.io.IOException;
+import java.io.Reader;
+
+public interface TaskImportService {
+
+    enum Format {
+        CSV, NDJSON
+    }
+
+    TaskImportResult importTasks(long todoId, Reader reader, Format format) throws IOException;
+}
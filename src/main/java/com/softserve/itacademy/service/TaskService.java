@@ -1,7 +1,9 @@
 package com.softserve.itacademy.service;
 
+import com.softserve.itacademy.model.Priority;
 import com.softserve.itacademy.model.Task;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface TaskService {
@@ -12,4 +14,11 @@ public interface TaskService {
 
     List<Task> getAll();
     List<Task> getByTodoId(long todoId);
+
+    void updateState(long todoId, long taskId, long stateId, Long version);
+    void updatePriority(long todoId, long taskId, Priority priority, Long version);
+
+    int updateState(long todoId, Collection<Long> taskIds, long stateId);
+    int updatePriority(long todoId, Collection<Long> taskIds, Priority priority);
+    int delete(long todoId, Collection<Long> taskIds);
 }
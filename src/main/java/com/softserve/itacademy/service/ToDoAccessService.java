@@ -0,0 +1,12 @@
+package com.softserve.itacademy.service;
+
+import java.util.Collection;
+
+public interface ToDoAccessService {
+    boolean isOwner(long userId, long todoId);
+    boolean canRead(long userId, long todoId);
+
+    void evictTodo(long todoId);
+    void evictTodos(Collection<Long> todoIds);
+    void evictUser(long userId);
+}
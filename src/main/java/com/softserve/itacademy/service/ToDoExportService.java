@@ -0,0 +1,13 @@
+package com.softserve.itacademy.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ToDoExportService {
+
+    enum Format {
+        CSV, NDJSON
+    }
+
+    void export(long userId, Format format, OutputStream out) throws IOException;
+}
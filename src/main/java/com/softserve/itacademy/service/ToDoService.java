@@ -1,5 +1,6 @@
 package com.softserve.itacademy.service;
 
+import com.softserve.itacademy.dto.ToDoPage;
 import com.softserve.itacademy.model.ToDo;
 
 import java.util.List;
@@ -7,9 +8,14 @@ import java.util.List;
 public interface ToDoService {
     ToDo create(ToDo todo);
     ToDo readById(long id);
+    ToDo readByIdWithCollaborators(long id);
     ToDo update(ToDo todo);
     void delete(long id);
 
+    void addCollaborator(long id, long userId);
+    void removeCollaborator(long id, long userId);
+
     List<ToDo> getAll();
     List<ToDo> getByUserId(long userId);
+    ToDoPage getPageByUserId(long userId, String after, String before, int size);
 }
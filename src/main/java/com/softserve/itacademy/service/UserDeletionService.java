@@ -0,0 +1,8 @@
+package com.softserve.itacademy.service;
+
+import com.softserve.itacademy.dto.UserDeletionProgress;
+
+public interface UserDeletionService {
+    UserDeletionProgress start(long userId);
+    UserDeletionProgress getProgress(long userId);
+}
@@ -1,14 +1,20 @@
 package com.softserve.itacademy.service;
 
+import com.softserve.itacademy.dto.UserSuggestion;
+import com.softserve.itacademy.dto.UserSummary;
 import com.softserve.itacademy.model.User;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserService {
     User create(User user);
     User readById(long id);
     User update(User user);
+    User update(User user, long roleId);
     void delete(long id);
     List<User> getAll();
+    List<UserSummary> getAllSummaries();
+    List<UserSuggestion> search(String query, Collection<Long> excludedIds, int limit);
 
 }
@@ -6,6 +6,8 @@ import com.softserve.itacademy.model.User;
 import com.softserve.itacademy.repository.RoleRepository;
 import com.softserve.itacademy.service.RoleService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import javax.persistence.EntityNotFoundException;
@@ -23,6 +25,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @CacheEvict(cacheNames = "roles", allEntries = true)
     public Role create(Role role) {
         if (role != null) {
             return roleRepository.save(role);
@@ -31,12 +34,14 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Cacheable(cacheNames = "roles", key = "#id")
     public Role readById(long id) {
         return roleRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException("Role with id " + id + " not found"));
     }
 
     @Override
+    @CacheEvict(cacheNames = "roles", allEntries = true)
     public Role update(Role role) {
         if (role != null) {
             readById(role.getId());
@@ -46,11 +51,13 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @CacheEvict(cacheNames = "roles", allEntries = true)
     public void delete(long id) {
         roleRepository.delete(readById(id));
     }
 
     @Override
+    @Cacheable(cacheNames = "roles", key = "'all'")
     public List<Role> getAll() {
         List<Role> roles = roleRepository.findAll();
         return roles.isEmpty() ? new ArrayList<>() : roles;
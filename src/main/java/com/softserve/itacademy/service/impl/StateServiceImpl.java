@@ -5,6 +5,8 @@ import com.softserve.itacademy.model.Role;
 import com.softserve.itacademy.model.State;
 import com.softserve.itacademy.repository.StateRepository;
 import com.softserve.itacademy.service.StateService;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
@@ -22,6 +24,7 @@ public class StateServiceImpl implements StateService {
     }
 
     @Override
+    @CacheEvict(cacheNames = "states", allEntries = true)
     public State create(State role) {
         if (role != null) {
             return stateRepository.save(role);
@@ -30,12 +33,14 @@ public class StateServiceImpl implements StateService {
     }
 
     @Override
+    @Cacheable(cacheNames = "states", key = "#id")
     public State readById(long id) {
         return stateRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException("State with id " + id + " not found"));
     }
 
     @Override
+    @CacheEvict(cacheNames = "states", allEntries = true)
     public State update(State role) {
         if (role != null) {
             readById(role.getId());
@@ -45,11 +50,13 @@ public class StateServiceImpl implements StateService {
     }
 
     @Override
+    @CacheEvict(cacheNames = "states", allEntries = true)
     public void delete(long id) {
         stateRepository.delete(readById(id));
     }
 
     @Override
+    @Cacheable(cacheNames = "states", key = "'name:' + #name")
     public State getByName(String name) {
         Optional<State> optional = Optional.ofNullable(stateRepository.findByName(name));
         if (optional.isPresent()) {
@@ -59,6 +66,7 @@ public class StateServiceImpl implements StateService {
     }
 
     @Override
+    @Cacheable(cacheNames = "states", key = "'all'")
     public List<State> getAll() {
         List<State> states = stateRepository.getAll();
         return states.isEmpty() ? new ArrayList<>() : states;
@@ -0,0 +1,312 @@
+package com.softserve.itacademy.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserve.itacademy.dto.TaskDto;
+import com.softserve.itacademy.dto.TaskImportResult;
+import com.softserve.itacademy.dto.TaskTransformer;
+import com.softserve.itacademy.exception.InvalidImportException;
+import com.softserve.itacademy.model.Priority;
+import com.softserve.itacademy.model.State;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.service.StateService;
+import com.softserve.itacademy.service.TaskImportService;
+import com.softserve.itacademy.service.ToDoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class TaskImportServiceImpl implements TaskImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskImportServiceImpl.class);
+
+    private static final int CHUNK_SIZE = 1_000;
+    // Longer lines are skipped, not buffered, and reported as failed rows.
+    private static final int MAX_LINE_LENGTH = 10_000;
+    private static final String DEFAULT_STATE = "New";
+
+    private final ToDoService todoService;
+    private final StateService stateService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public TaskImportServiceImpl(ToDoService todoService, StateService stateService, Validator validator,
+                                 ObjectMapper objectMapper, EntityManagerFactory entityManagerFactory) {
+        this.todoService = todoService;
+        this.stateService = stateService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public TaskImportResult importTasks(long todoId, Reader reader, Format format) throws IOException {
+        todoService.readById(todoId);
+        Map<String, Long> states = stateService.getAll().stream()
+                .collect(Collectors.toMap(State::getName, State::getId));
+        LineReader lines = new LineReader(reader);
+        long lineNumber = 0;
+        RowParser parser;
+        if (format == Format.CSV) {
+            String header = lines.readLine();
+            lineNumber++;
+            if (header == null) {
+                throw new InvalidImportException("The CSV upload is empty");
+            }
+            if (lines.isTruncated()) {
+                throw new InvalidImportException("The CSV header is longer than " + MAX_LINE_LENGTH + " characters");
+            }
+            parser = new CsvRowParser(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        } else {
+            parser = new NdjsonRowParser();
+        }
+
+        TaskImportResult result = new TaskImportResult();
+        List<TaskDto> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<Long> chunkLines = new ArrayList<>(CHUNK_SIZE);
+        // A separate persistence context: clearing it per chunk must not detach what the request already holds.
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+                lineNumber++;
+                if (lines.isTruncated()) {
+                    result.addError(lineNumber, "The line is longer than " + MAX_LINE_LENGTH + " characters");
+                    continue;
+                }
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    chunk.add(toDto(todoId, parser.parse(line), states));
+                } catch (IllegalArgumentException e) {
+                    result.addError(lineNumber, e.getMessage());
+                    continue;
+                }
+                chunkLines.add(lineNumber);
+                if (chunk.size() == CHUNK_SIZE) {
+                    persist(entityManager, todoId, chunk, chunkLines, result);
+                }
+            }
+            persist(entityManager, todoId, chunk, chunkLines, result);
+        } finally {
+            entityManager.close();
+        }
+        return result;
+    }
+
+    private TaskDto toDto(long todoId, Map<String, String> row, Map<String, Long> states) {
+        TaskDto taskDto = new TaskDto(0, row.get("name"), row.get("priority"), todoId, 0);
+        List<String> violations = validator.validate(taskDto).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(this::message)
+                .collect(Collectors.toList());
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", violations));
+        }
+        if (Arrays.stream(Priority.values()).noneMatch(priority -> priority.name().equals(taskDto.getPriority()))) {
+            throw new IllegalArgumentException("Unknown priority '" + taskDto.getPriority() + "'");
+        }
+        String state = row.get("state");
+        if (state == null || state.trim().isEmpty()) {
+            state = DEFAULT_STATE;
+        }
+        Long stateId = states.get(state);
+        if (stateId == null) {
+            throw new IllegalArgumentException("Unknown state '" + state + "'");
+        }
+        taskDto.setStateId(stateId);
+        return taskDto;
+    }
+
+    private String message(ConstraintViolation<TaskDto> violation) {
+        String message = violation.getMessage();
+        return message.startsWith("The '") ? message : "'" + violation.getPropertyPath() + "' " + message;
+    }
+
+    // Earlier chunks stay committed when one fails, so its rows are reported and the import goes on.
+    private void persist(EntityManager entityManager, long todoId, List<TaskDto> chunk, List<Long> chunkLines,
+                         TaskImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        EntityTransaction transaction = entityManager.getTransaction();
+        try {
+            transaction.begin();
+            ToDo todo = entityManager.getReference(ToDo.class, todoId);
+            for (TaskDto taskDto : chunk) {
+                State state = entityManager.getReference(State.class, taskDto.getStateId());
+                entityManager.persist(TaskTransformer.convertToEntity(taskDto, todo, state));
+            }
+            transaction.commit();
+            result.addImported(chunk.size());
+        } catch (PersistenceException e) {
+            logger.error("Import of {} rows into to-do with id {} failed", chunk.size(), todoId, e);
+            for (long line : chunkLines) {
+                result.addError(line, "The row could not be saved");
+            }
+        } finally {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            entityManager.clear();
+            chunk.clear();
+            chunkLines.clear();
+        }
+    }
+
+    // Like BufferedReader.readLine(), but keeps at most MAX_LINE_LENGTH characters of a line.
+    private static final class LineReader {
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean skipLineFeed;
+        private boolean truncated;
+
+        private LineReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        private String readLine() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return read ? line.toString() : null;
+                    }
+                }
+                char c = buffer[position++];
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (c == '\n') {
+                        continue;
+                    }
+                }
+                read = true;
+                if (c == '\n' || c == '\r') {
+                    skipLineFeed = c == '\r';
+                    return line.toString();
+                }
+                if (line.length() < MAX_LINE_LENGTH) {
+                    line.append(c);
+                } else {
+                    truncated = true;
+                }
+            }
+        }
+
+        private boolean isTruncated() {
+            return truncated;
+        }
+    }
+
+    private interface RowParser {
+        Map<String, String> parse(String line);
+    }
+
+    private static final class CsvRowParser implements RowParser {
+        private final List<String> columns;
+
+        private CsvRowParser(String header) {
+            columns = split(header).stream()
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toList());
+            if (!columns.contains("name") || !columns.contains("priority")) {
+                throw new InvalidImportException("The CSV header must name the 'name' and 'priority' columns");
+            }
+        }
+
+        @Override
+        public Map<String, String> parse(String line) {
+            List<String> values = split(line);
+            if (values.size() != columns.size()) {
+                throw new IllegalArgumentException("Expected " + columns.size() + " values but found " + values.size());
+            }
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                row.put(columns.get(i), values.get(i));
+            }
+            return row;
+        }
+
+        // RFC 4180 fields on a single line: separated by commas, optionally quoted, with "" as an escaped quote.
+        private static List<String> split(String line) {
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted value");
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+
+    private final class NdjsonRowParser implements RowParser {
+        @Override
+        public Map<String, String> parse(String line) {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            Map<String, String> row = new HashMap<>();
+            node.fields().forEachRemaining(field -> {
+                if (!field.getValue().isNull()) {
+                    row.put(field.getKey(), field.getValue().asText());
+                }
+            });
+            return row;
+        }
+    }
+}
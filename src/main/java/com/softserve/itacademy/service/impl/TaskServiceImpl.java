@@ -1,23 +1,35 @@
 package com.softserve.itacademy.service.impl;
 
 import com.softserve.itacademy.exception.NullEntityReferenceException;
+import com.softserve.itacademy.model.Priority;
 import com.softserve.itacademy.model.Role;
 import com.softserve.itacademy.model.Task;
 import com.softserve.itacademy.repository.TaskRepository;
+import com.softserve.itacademy.service.StateService;
 import com.softserve.itacademy.service.TaskService;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.ToIntFunction;
 
 @Service
 public class TaskServiceImpl implements TaskService {
+
+    // Keeps the IN list of a single statement well below the bind parameter limits of the drivers.
+    private static final int BATCH_SIZE = 1_000;
+
     private TaskRepository taskRepository;
+    private StateService stateService;
 
-    public TaskServiceImpl(TaskRepository taskRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, StateService stateService) {
         this.taskRepository = taskRepository;
+        this.stateService = stateService;
     }
 
     @Override
@@ -59,4 +71,70 @@ public class TaskServiceImpl implements TaskService {
         List<Task> tasks = taskRepository.getByTodoId(todoId);
         return tasks.isEmpty() ? new ArrayList<>() : tasks;
     }
+
+    @Override
+    @Transactional
+    public void updateState(long todoId, long taskId, long stateId, Long version) {
+        int updated = version == null
+                ? taskRepository.updateStateById(todoId, taskId, stateId)
+                : taskRepository.updateStateByIdAndVersion(todoId, taskId, stateId, version);
+        if (updated == 0) {
+            checkVersion(todoId, taskId, version);
+            throw new EntityNotFoundException("Task with id " + taskId + " and state with id " + stateId
+                    + " not found in to-do with id " + todoId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void updatePriority(long todoId, long taskId, Priority priority, Long version) {
+        if (priority == null) {
+            throw new NullEntityReferenceException("Priority cannot be 'null'");
+        }
+        int updated = version == null
+                ? taskRepository.updatePriorityById(todoId, taskId, priority)
+                : taskRepository.updatePriorityByIdAndVersion(todoId, taskId, priority, version);
+        if (updated == 0) {
+            checkVersion(todoId, taskId, version);
+            throw new EntityNotFoundException("Task with id " + taskId + " not found in to-do with id " + todoId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int updateState(long todoId, Collection<Long> taskIds, long stateId) {
+        stateService.readById(stateId);
+        return inBatches(taskIds, ids -> taskRepository.updateStateByIds(todoId, ids, stateId));
+    }
+
+    @Override
+    @Transactional
+    public int updatePriority(long todoId, Collection<Long> taskIds, Priority priority) {
+        if (priority == null) {
+            throw new NullEntityReferenceException("Priority cannot be 'null'");
+        }
+        return inBatches(taskIds, ids -> taskRepository.updatePriorityByIds(todoId, ids, priority));
+    }
+
+    @Override
+    @Transactional
+    public int delete(long todoId, Collection<Long> taskIds) {
+        return inBatches(taskIds, ids -> taskRepository.deleteByIds(todoId, ids));
+    }
+
+    // Only runs after a conditional update matched nothing, to tell a stale version apart from a missing task.
+    private void checkVersion(long todoId, long taskId, Long version) {
+        if (version != null && taskRepository.existsByTodoIdAndIdAndVersionNot(todoId, taskId, version)) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, taskId);
+        }
+    }
+
+    private static int inBatches(Collection<Long> taskIds, ToIntFunction<List<Long>> statement) {
+        List<Long> ids = new ArrayList<>(taskIds);
+        int affected = 0;
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            affected += statement.applyAsInt(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())));
+        }
+        return affected;
+    }
 }
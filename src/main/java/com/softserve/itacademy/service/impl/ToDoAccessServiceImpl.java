@@ -0,0 +1,116 @@
+package com.softserve.itacademy.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.service.ToDoAccessService;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+@Service
+public class ToDoAccessServiceImpl implements ToDoAccessService {
+
+    private static final int COLLABORATOR = 1;
+    private static final int OWNER = 2;
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final ToDoRepository todoRepository;
+
+    // Decisions are dropped after commit of every membership change; the expiry only
+    // bounds staleness for rows changed behind the application's back.
+    private final Cache<AccessKey, Integer> decisions = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+    // Bumped by every eviction, striped by id. A decision loaded while its to-do or user
+    // generation moved may have read the old membership, so it is not kept.
+    private final AtomicLongArray todoGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLongArray userGenerations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public ToDoAccessServiceImpl(ToDoRepository todoRepository) {
+        this.todoRepository = todoRepository;
+    }
+
+    @Override
+    public boolean isOwner(long userId, long todoId) {
+        return accessLevel(userId, todoId) == OWNER;
+    }
+
+    @Override
+    public boolean canRead(long userId, long todoId) {
+        return accessLevel(userId, todoId) >= COLLABORATOR;
+    }
+
+    @Override
+    public void evictTodo(long todoId) {
+        evict(() -> todoGenerations.incrementAndGet(stripe(todoId)), key -> key.todoId == todoId);
+    }
+
+    @Override
+    public void evictTodos(Collection<Long> todoIds) {
+        Set<Long> ids = new HashSet<>(todoIds);
+        evict(() -> ids.forEach(id -> todoGenerations.incrementAndGet(stripe(id))), key -> ids.contains(key.todoId));
+    }
+
+    @Override
+    public void evictUser(long userId) {
+        evict(() -> userGenerations.incrementAndGet(stripe(userId)), key -> key.userId == userId);
+    }
+
+    private int accessLevel(long userId, long todoId) {
+        AccessKey accessKey = new AccessKey(userId, todoId);
+        long todoGeneration = todoGenerations.get(stripe(todoId));
+        long userGeneration = userGenerations.get(stripe(userId));
+        int level = decisions.get(accessKey, key -> todoRepository.getAccessLevel(todoId, userId));
+        // An eviction either moved a generation before this check, or its removal runs after the put above.
+        if (todoGeneration != todoGenerations.get(stripe(todoId))
+                || userGeneration != userGenerations.get(stripe(userId))) {
+            decisions.asMap().remove(accessKey, level);
+        }
+        return level;
+    }
+
+    private void evict(Runnable bumpGenerations, Predicate<AccessKey> filter) {
+        Runnable eviction = () -> {
+            bumpGenerations.run();
+            decisions.asMap().keySet().removeIf(filter);
+        };
+        eviction.run();
+        TransactionCallbacks.afterCommit(eviction);
+    }
+
+    private static int stripe(long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+
+    private static final class AccessKey {
+        private final long userId;
+        private final long todoId;
+
+        private AccessKey(long userId, long todoId) {
+            this.userId = userId;
+            this.todoId = todoId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            AccessKey accessKey = (AccessKey) o;
+            return userId == accessKey.userId && todoId == accessKey.todoId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, todoId);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.softserve.itacademy.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserve.itacademy.dto.TaskExportRow;
+import com.softserve.itacademy.repository.TaskRepository;
+import com.softserve.itacademy.service.ToDoExportService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class ToDoExportServiceImpl implements ToDoExportService {
+
+    // Same names in both formats; name, priority and state line up with the task import.
+    private static final String[] COLUMNS =
+            {"todoId", "todoTitle", "createdAt", "ownerId", "taskId", "name", "priority", "state"};
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    public ToDoExportServiceImpl(TaskRepository taskRepository, ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(long userId, Format format, OutputStream out) throws IOException {
+        try (Stream<TaskExportRow> rows = taskRepository.streamExportByUserId(userId)) {
+            if (format == Format.CSV) {
+                writeCsv(rows.iterator(), out);
+            } else {
+                writeNdjson(rows.iterator(), out);
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<TaskExportRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", COLUMNS));
+        writer.write('\n');
+        while (rows.hasNext()) {
+            Object[] values = values(rows.next());
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csv(values[i]));
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Iterator<TaskExportRow> rows, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+        while (rows.hasNext()) {
+            Object[] values = values(rows.next());
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    generator.writeObjectField(COLUMNS[i], values[i] instanceof Number ? values[i] : values[i].toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    private static Object[] values(TaskExportRow row) {
+        return new Object[]{row.getTodoId(), row.getTodoTitle(), row.getCreatedAt(), row.getOwnerId(),
+                row.getTaskId(), row.getTaskName(), row.getPriority(), row.getState()};
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,28 +1,46 @@
 package com.softserve.itacademy.service.impl;
 
+import com.softserve.itacademy.dto.ToDoCursor;
+import com.softserve.itacademy.dto.ToDoPage;
+import com.softserve.itacademy.dto.TodoSummary;
 import com.softserve.itacademy.exception.NullEntityReferenceException;
 import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.repository.TaskRepository;
 import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.ToDoAccessService;
 import com.softserve.itacademy.service.ToDoService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Service
 public class ToDoServiceImpl implements ToDoService {
 
     private ToDoRepository todoRepository;
+    private TaskRepository taskRepository;
+    private UserRepository userRepository;
+    private ToDoAccessService accessService;
 
-    public ToDoServiceImpl(ToDoRepository todoRepository) {
+    public ToDoServiceImpl(ToDoRepository todoRepository, TaskRepository taskRepository,
+                           UserRepository userRepository, ToDoAccessService accessService) {
         this.todoRepository = todoRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.accessService = accessService;
     }
 
     @Override
     public ToDo create(ToDo role) {
         if (role != null) {
-            return todoRepository.save(role);
+            ToDo saved = todoRepository.save(role);
+            // Drops a denial cached for the id before the to-do existed.
+            accessService.evictTodo(saved.getId());
+            return saved;
         }
         throw new NullEntityReferenceException("ToDo cannot be 'null'");
     }
@@ -33,6 +51,12 @@ public class ToDoServiceImpl implements ToDoService {
                 () -> new EntityNotFoundException("ToDo with id " + id + " not found"));
     }
 
+    @Override
+    public ToDo readByIdWithCollaborators(long id) {
+        return todoRepository.findWithCollaboratorsById(id).orElseThrow(
+                () -> new EntityNotFoundException("ToDo with id " + id + " not found"));
+    }
+
     @Override
     public ToDo update(ToDo role) {
         if (role != null) {
@@ -43,8 +67,32 @@ public class ToDoServiceImpl implements ToDoService {
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
-        todoRepository.delete(readById(id));
+        readById(id);
+        List<Long> ids = Collections.singletonList(id);
+        taskRepository.deleteByTodoIds(ids);
+        todoRepository.deleteCollaboratorsByTodoIds(ids);
+        todoRepository.deleteByIds(ids);
+        accessService.evictTodo(id);
+    }
+
+    @Override
+    @Transactional
+    public void addCollaborator(long id, long userId) {
+        if (todoRepository.addCollaborator(id, userId) == 0) {
+            checkCollaboratorExists(id, userId);
+        }
+        accessService.evictTodo(id);
+    }
+
+    @Override
+    @Transactional
+    public void removeCollaborator(long id, long userId) {
+        if (todoRepository.removeCollaborator(id, userId) == 0) {
+            checkCollaboratorExists(id, userId);
+        }
+        accessService.evictTodo(id);
     }
 
     @Override
@@ -58,4 +106,43 @@ public class ToDoServiceImpl implements ToDoService {
         List<ToDo> todos = todoRepository.getByUserId(userId);
         return todos.isEmpty() ? new ArrayList<>() : todos;
     }
+
+    @Override
+    public ToDoPage getPageByUserId(long userId, String after, String before, int size) {
+        if (before != null) {
+            ToDoCursor cursor = ToDoCursor.decode(before);
+            List<TodoSummary> todos = todoRepository.getPageByUserIdBefore(userId, cursor.getCreatedAt(), cursor.getId(), size + 1);
+            boolean hasPrevious = todos.size() > size;
+            List<TodoSummary> page = new ArrayList<>(todos.subList(0, Math.min(size, todos.size())));
+            Collections.reverse(page);
+            return new ToDoPage(page, cursorAfter(page), hasPrevious ? cursorBefore(page) : null);
+        }
+        List<TodoSummary> todos;
+        if (after != null) {
+            ToDoCursor cursor = ToDoCursor.decode(after);
+            todos = todoRepository.getPageByUserIdAfter(userId, cursor.getCreatedAt(), cursor.getId(), size + 1);
+        } else {
+            todos = todoRepository.getFirstPageByUserId(userId, size + 1);
+        }
+        boolean hasNext = todos.size() > size;
+        List<TodoSummary> page = new ArrayList<>(todos.subList(0, Math.min(size, todos.size())));
+        return new ToDoPage(page, hasNext ? cursorAfter(page) : null, after != null ? cursorBefore(page) : null);
+    }
+
+    private void checkCollaboratorExists(long id, long userId) {
+        if (!todoRepository.existsById(id)) {
+            throw new EntityNotFoundException("ToDo with id " + id + " not found");
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User with id " + userId + " not found");
+        }
+    }
+
+    private String cursorAfter(List<TodoSummary> page) {
+        return page.isEmpty() ? null : ToDoCursor.of(page.get(page.size() - 1)).encode();
+    }
+
+    private String cursorBefore(List<TodoSummary> page) {
+        return page.isEmpty() ? null : ToDoCursor.of(page.get(0)).encode();
+    }
 }
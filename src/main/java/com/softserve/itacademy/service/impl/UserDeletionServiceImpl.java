@@ -0,0 +1,97 @@
+package com.softserve.itacademy.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.softserve.itacademy.dto.UserDeletionProgress;
+import com.softserve.itacademy.repository.TaskRepository;
+import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.service.ToDoAccessService;
+import com.softserve.itacademy.service.UserDeletionService;
+import com.softserve.itacademy.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.util.List;
+
+@Service
+public class UserDeletionServiceImpl implements UserDeletionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDeletionServiceImpl.class);
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final UserService userService;
+    private final ToDoRepository todoRepository;
+    private final TaskRepository taskRepository;
+    private final ToDoAccessService accessService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+
+    // Finished jobs stay visible for an hour so clients can pick up the final state.
+    private final Cache<Long, UserDeletionProgress> jobs = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    public UserDeletionServiceImpl(UserService userService, ToDoRepository todoRepository,
+                                   TaskRepository taskRepository, ToDoAccessService accessService,
+                                   PlatformTransactionManager transactionManager, TaskExecutor taskExecutor) {
+        this.userService = userService;
+        this.todoRepository = todoRepository;
+        this.taskRepository = taskRepository;
+        this.accessService = accessService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public UserDeletionProgress start(long userId) {
+        userService.readById(userId);
+        UserDeletionProgress started = new UserDeletionProgress(userId);
+        UserDeletionProgress progress = jobs.asMap().compute(userId,
+                (id, current) -> current != null && current.isRunning() ? current : started);
+        if (progress == started) {
+            taskExecutor.execute(() -> run(progress));
+        }
+        return progress;
+    }
+
+    @Override
+    public UserDeletionProgress getProgress(long userId) {
+        UserDeletionProgress progress = jobs.getIfPresent(userId);
+        if (progress == null) {
+            throw new EntityNotFoundException("No deletion of user with id " + userId + " in progress");
+        }
+        return progress;
+    }
+
+    private void run(UserDeletionProgress progress) {
+        long userId = progress.getUserId();
+        try {
+            List<Long> todoIds = todoRepository.getIdsByOwnerId(userId);
+            progress.setTotalTodos(todoIds.size());
+            for (int from = 0; from < todoIds.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = todoIds.subList(from, Math.min(from + CHUNK_SIZE, todoIds.size()));
+                transactionTemplate.executeWithoutResult(status -> {
+                    taskRepository.deleteByTodoIds(chunk);
+                    todoRepository.deleteCollaboratorsByTodoIds(chunk);
+                    todoRepository.deleteByIds(chunk);
+                });
+                accessService.evictTodos(chunk);
+                progress.addDeletedTodos(chunk.size());
+                jobs.put(userId, progress);
+            }
+            userService.delete(userId);
+            progress.done();
+        } catch (RuntimeException e) {
+            logger.error("Deletion of user with id {} failed", userId, e);
+            progress.failed("Deletion of user with id " + userId + " failed");
+        }
+        jobs.put(userId, progress);
+    }
+}
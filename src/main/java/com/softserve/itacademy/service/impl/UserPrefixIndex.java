@@ -0,0 +1,117 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.dto.UserSuggestion;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.repository.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Component
+public class UserPrefixIndex {
+    private static final char SEPARATOR = '\0';
+
+    private final UserRepository userRepository;
+    // Rebuilds and committed changes are applied under this lock, so a rebuild never overwrites a newer change.
+    private final Object lock = new Object();
+    private volatile NavigableMap<String, UserSuggestion> terms = new ConcurrentSkipListMap<>();
+    // The e-mail is only a search term; it is never part of a suggestion.
+    private volatile Map<Long, Set<String>> userTerms = new ConcurrentHashMap<>();
+
+    public UserPrefixIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public List<UserSuggestion> search(String prefix, Collection<Long> excludedIds, int limit) {
+        String from = normalize(prefix);
+        Map<Long, UserSuggestion> result = new LinkedHashMap<>();
+        for (UserSuggestion user : terms.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (!excludedIds.contains(user.getId())) {
+                result.putIfAbsent(user.getId(), user);
+            }
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    public void put(User user) {
+        UserSuggestion suggestion = new UserSuggestion(user.getId(), user.getFirstName(), user.getLastName());
+        String email = user.getEmail();
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (lock) {
+                removeTerms(terms, userTerms, suggestion.getId());
+                addTerms(terms, userTerms, suggestion, email);
+            }
+        });
+    }
+
+    public void remove(long id) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (lock) {
+                removeTerms(terms, userTerms, id);
+            }
+        });
+    }
+
+    // Also picks up users written outside this instance, e.g. by other nodes or the dataset generator.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${todolist.user-search.refresh-interval:PT5M}",
+            initialDelayString = "${todolist.user-search.refresh-interval:PT5M}")
+    public void rebuild() {
+        NavigableMap<String, UserSuggestion> terms = new ConcurrentSkipListMap<>();
+        Map<Long, Set<String>> userTerms = new ConcurrentHashMap<>();
+        synchronized (lock) {
+            userRepository.getAllSummaries().forEach(user -> addTerms(terms, userTerms, new UserSuggestion(
+                    user.getId(), user.getFirstName(), user.getLastName()), user.getEmail()));
+            this.terms = terms;
+            this.userTerms = userTerms;
+        }
+    }
+
+    private static void addTerms(NavigableMap<String, UserSuggestion> terms, Map<Long, Set<String>> userTerms,
+                                 UserSuggestion user, String email) {
+        Set<String> termsOfUser = termsOf(user, email);
+        userTerms.put(user.getId(), termsOfUser);
+        for (String term : termsOfUser) {
+            terms.put(term + SEPARATOR + user.getId(), user);
+        }
+    }
+
+    private static void removeTerms(NavigableMap<String, UserSuggestion> terms, Map<Long, Set<String>> userTerms,
+                                    long id) {
+        Set<String> termsOfUser = userTerms.remove(id);
+        if (termsOfUser != null) {
+            for (String term : termsOfUser) {
+                terms.remove(term + SEPARATOR + id);
+            }
+        }
+    }
+
+    private static Set<String> termsOf(UserSuggestion user, String email) {
+        Set<String> result = new LinkedHashSet<>();
+        result.add(normalize(email));
+        result.add(normalize(user.getFirstName()));
+        result.add(normalize(user.getLastName()));
+        result.add(normalize(user.getFirstName() + " " + user.getLastName()));
+        return result;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,32 +1,59 @@
 package com.softserve.itacademy.service.impl;
 
+import com.softserve.itacademy.dto.UserSuggestion;
+import com.softserve.itacademy.dto.UserSummary;
 import com.softserve.itacademy.exception.NullEntityReferenceException;
+import com.softserve.itacademy.model.Role;
 import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.repository.RoleRepository;
+import com.softserve.itacademy.repository.TaskRepository;
+import com.softserve.itacademy.repository.ToDoRepository;
 import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.ToDoAccessService;
 import com.softserve.itacademy.service.UserService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Service("userServiceImpl")
 public class UserServiceImpl implements UserService {
 
+    private static final String ADMIN = "ADMIN";
+    private static final String USER = "USER";
+
     private UserRepository userRepository;
+    private RoleRepository roleRepository;
+    private ToDoRepository todoRepository;
+    private TaskRepository taskRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserPrefixIndex userPrefixIndex;
+    private ToDoAccessService accessService;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository,
+                           ToDoRepository todoRepository, TaskRepository taskRepository,
+                           PasswordEncoder passwordEncoder, UserPrefixIndex userPrefixIndex,
+                           ToDoAccessService accessService) {
         this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.todoRepository = todoRepository;
+        this.taskRepository = taskRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userPrefixIndex = userPrefixIndex;
+        this.accessService = accessService;
     }
 
     @Override
     public User create(User user) {
         if (user != null) {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            userPrefixIndex.put(saved);
+            return saved;
         }
         throw new NullEntityReferenceException("User cannot be 'null'");
     }
@@ -42,14 +69,46 @@ public class UserServiceImpl implements UserService {
         if (user != null) {
             readById(user.getId());
             user.setPassword(passwordEncoder.encode(user.getPassword()));
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            userPrefixIndex.put(saved);
+            return saved;
+        }
+        throw new NullEntityReferenceException("User cannot be 'null'");
+    }
+
+    @Override
+    @Transactional
+    public User update(User user, long roleId) {
+        if (user != null) {
+            Role oldRole = readById(user.getId()).getRole();
+            Role role = roleRepository.findById(roleId).orElseThrow(
+                    () -> new EntityNotFoundException("Role with id " + roleId + " not found"));
+            if (oldRole.getId() != role.getId()) {
+                roleRepository.lockByName(ADMIN);
+                long adminCount = userRepository.countByRoleName(ADMIN);
+                if ((role.getName().equals(USER) && oldRole.getName().equals(ADMIN) && adminCount == 1) ||
+                        (role.getName().equals(ADMIN) && oldRole.getName().equals(USER) && adminCount == 2)) {
+                    role = oldRole;
+                }
+            }
+            user.setRole(role);
+            return update(user);
         }
         throw new NullEntityReferenceException("User cannot be 'null'");
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
-        userRepository.delete(readById(id));
+        readById(id);
+        List<Long> todoIds = todoRepository.getIdsByOwnerId(id);
+        taskRepository.deleteByOwnerId(id);
+        todoRepository.deleteCollaboratorsByUserId(id);
+        todoRepository.deleteByOwnerId(id);
+        userRepository.removeById(id);
+        userPrefixIndex.remove(id);
+        accessService.evictUser(id);
+        accessService.evictTodos(todoIds);
     }
 
     @Override
@@ -57,4 +116,17 @@ public class UserServiceImpl implements UserService {
         List<User> users = userRepository.findAll();
         return users.isEmpty() ? new ArrayList<>() : users;
     }
+
+    @Override
+    public List<UserSummary> getAllSummaries() {
+        return userRepository.getAllSummaries();
+    }
+
+    @Override
+    public List<UserSuggestion> search(String query, Collection<Long> excludedIds, int limit) {
+        if (query == null || query.isBlank()) {
+            return new ArrayList<>();
+        }
+        return userPrefixIndex.search(query, excludedIds, limit);
+    }
 }
@@ -0,0 +1,39 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Moves id generation from identity columns to sequences that Hibernate reads in blocks of 50
+// (pooled-lo), which lets inserts be batched. Each sequence starts past the ids already in use,
+// which is why this is a Java migration rather than a SQL one.
+public class V4__Id_sequences extends BaseJavaMigration {
+
+    private static final String[] TABLES = {"roles", "states", "users", "todos", "tasks"};
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                long start;
+                try (ResultSet resultSet = statement.executeQuery("select coalesce(max(id), 0) + 1 from " + table)) {
+                    resultSet.next();
+                    start = resultSet.getLong(1);
+                }
+                statement.execute("create sequence " + table + "_seq start with " + start
+                        + " increment by " + ALLOCATION_SIZE);
+                // H2 1.4 cannot drop an identity; its default is simply never used since ids are always supplied.
+                if (postgres) {
+                    statement.execute("alter table " + table + " alter column id drop identity");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+-- Identities start past the ids used by the seed data in V2.
+
+create table roles (
+    id   bigint generated by default as identity (start with 100) primary key,
+    name varchar(255) not null,
+    constraint uk_roles_name unique (name)
+);
+
+create table states (
+    id   bigint generated by default as identity (start with 100) primary key,
+    name varchar(255) not null,
+    constraint uk_states_name unique (name)
+);
+
+create table users (
+    id         bigint generated by default as identity (start with 100) primary key,
+    first_name varchar(255) not null,
+    last_name  varchar(255) not null,
+    email      varchar(255) not null,
+    password   varchar(255) not null,
+    role_id    bigint,
+    constraint uk_users_email unique (email),
+    constraint fk_users_role foreign key (role_id) references roles (id)
+);
+
+create table todos (
+    id         bigint generated by default as identity (start with 100) primary key,
+    title      varchar(255) not null,
+    created_at timestamp    not null,
+    owner_id   bigint,
+    constraint uk_todos_title unique (title),
+    constraint fk_todos_owner foreign key (owner_id) references users (id)
+);
+
+create table tasks (
+    id       bigint generated by default as identity (start with 100) primary key,
+    name     varchar(255) not null,
+    priority varchar(255),
+    todo_id  bigint,
+    state_id bigint,
+    constraint fk_tasks_todo foreign key (todo_id) references todos (id),
+    constraint fk_tasks_state foreign key (state_id) references states (id)
+);
+
+create table todo_collaborator (
+    todo_id         bigint not null,
+    collaborator_id bigint not null,
+    primary key (todo_id, collaborator_id),
+    constraint fk_todo_collaborator_todo foreign key (todo_id) references todos (id),
+    constraint fk_todo_collaborator_user foreign key (collaborator_id) references users (id)
+);
+
+create index idx_todos_owner_id on todos (owner_id);
+create index idx_tasks_todo_id on tasks (todo_id);
+create index idx_tasks_state_id on tasks (state_id);
+create index idx_todo_collaborator_collaborator_id on todo_collaborator (collaborator_id);
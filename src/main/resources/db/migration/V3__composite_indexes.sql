@@ -0,0 +1,11 @@
+-- The listing queries filter on the leading column and order by the following ones,
+-- so these indexes return rows already sorted and cover the collaborator lookup.
+
+drop index idx_todos_owner_id;
+create index idx_todos_owner_id_created_at_id on todos (owner_id, created_at, id);
+
+drop index idx_tasks_todo_id;
+create index idx_tasks_todo_id_id on tasks (todo_id, id);
+
+drop index idx_todo_collaborator_collaborator_id;
+create index idx_todo_collaborator_collaborator_id_todo_id on todo_collaborator (collaborator_id, todo_id);
@@ -0,0 +1,6 @@
+-- Optimistic locking: every update of a to-do or task increments its version
+-- and fails when the version the client last read is no longer current.
+
+alter table todos add column version bigint default 0 not null;
+
+alter table tasks add column version bigint default 0 not null;
@@ -1,5 +1,6 @@
 package com.softserve.itacademy.controller;
 
+import com.softserve.itacademy.metrics.QueryCountMatchers;
 import com.softserve.itacademy.model.Priority;
 import com.softserve.itacademy.model.Task;
 import com.softserve.itacademy.security.CustomUserDetails;
@@ -7,6 +8,7 @@ import com.softserve.itacademy.service.StateService;
 import com.softserve.itacademy.service.TaskService;
 import com.softserve.itacademy.service.ToDoService;
 import com.softserve.itacademy.service.UserService;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +22,10 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import javax.transaction.Transactional;
 import java.beans.Transient;
 import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
@@ -62,6 +68,7 @@ public class TaskControllerTest {
                         .with(SecurityMockMvcRequestPostProcessors.csrf())
                 )
                 .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(QueryCountMatchers.statements(1))
                 .andExpect(MockMvcResultMatchers.model().attributeExists("task"))
                 .andExpect(MockMvcResultMatchers.model().attributeExists("todo"))
                 .andExpect(MockMvcResultMatchers.model().attributeExists("priorities"))
@@ -131,11 +138,14 @@ public class TaskControllerTest {
                         .with(SecurityMockMvcRequestPostProcessors.csrf())
                 )
                 .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(QueryCountMatchers.statements(1))
                 .andExpect(MockMvcResultMatchers.model().attributeExists("task"))
                 .andExpect(MockMvcResultMatchers.model().attributeExists("states"))
                 .andExpect(MockMvcResultMatchers.model().attributeExists("priorities"))
                 .andExpect(MockMvcResultMatchers.model().attribute("states",stateService.getAll()))
-                .andExpect(MockMvcResultMatchers.model().attribute("priorities",Priority.values()));
+                .andExpect(MockMvcResultMatchers.model().attribute("priorities",Priority.values()))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        Matchers.containsString("name=\"version\" value=\"0\"")));
 
     }
 
@@ -152,12 +162,54 @@ public class TaskControllerTest {
                         .param("name","New Task")
                         .param("priority",validTask.getPriority().toString())
                         .param("todoId",String.valueOf(7))
-                        .param("stateId",String.valueOf(7)))
+                        .param("stateId",String.valueOf(7))
+                        .param("version",String.valueOf(0)))
                 .andExpect(MockMvcResultMatchers.status().is3xxRedirection());
 
     }
 
 
+    @Test
+    @Transactional
+    public void testUpdateMissingVersion_POST() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/5/update/todos/7")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("id",String.valueOf(5))
+                        .param("name","New Task")
+                        .param("priority",validTask.getPriority().toString())
+                        .param("todoId",String.valueOf(7))
+                        .param("stateId",String.valueOf(7)))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        assertEquals("Task #1", taskService.readById(5L).getName());
+    }
+
+
+    @Test
+    @Transactional
+    public void testUpdateConflict_POST() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/5/update/todos/7")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("id",String.valueOf(5))
+                        .param("name","New Task")
+                        .param("priority",validTask.getPriority().toString())
+                        .param("todoId",String.valueOf(7))
+                        .param("stateId",String.valueOf(7))
+                        .param("version",String.valueOf(5)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.view().name("update-task"))
+                .andExpect(MockMvcResultMatchers.model().attributeHasErrors("task"))
+                .andExpect(MockMvcResultMatchers.model().attribute("task",
+                        Matchers.hasProperty("name", Matchers.is("Task #1"))));
+    }
+
+
     @Test
     @Transactional
     public void testUpdateInvalidName() throws Exception {
@@ -224,7 +276,8 @@ public class TaskControllerTest {
                         )
                         .with(SecurityMockMvcRequestPostProcessors.csrf())
                 )
-                .andExpect(MockMvcResultMatchers.status().is3xxRedirection());
+                .andExpect(MockMvcResultMatchers.status().is3xxRedirection())
+                .andExpect(QueryCountMatchers.statements(1));
     }
 
 
@@ -239,4 +292,281 @@ public class TaskControllerTest {
                 )
                 .andExpect(MockMvcResultMatchers.status().is4xxClientError());
     }
-}
\ No newline at end of file
+
+
+    // The import commits in its own transactions, so these tests remove the tasks they add.
+    @Test
+    public void testImportCsv() throws Exception {
+        List<Long> before = taskIds(8L);
+        String csv = "name,priority,state\n" +
+                "\"Write, then review\",HIGH,Doing\n" +
+                "Plain task,LOW,\n" +
+                "\n" +
+                ",LOW,New\n" +
+                "Bad priority,URGENT,New\n" +
+                "Bad state,LOW,Archived\n" +
+                "Too,many,values,here\n" +
+                "Long line," + "x".repeat(20_000) + "\n";
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/import/todos/8")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.imported").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failed").value(5))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].line").value(5))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].message").value("The 'name' cannot be empty"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[1].message").value("Unknown priority 'URGENT'"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[2].message").value("Unknown state 'Archived'"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[3].line").value(8))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[4].line").value(9))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[4].message")
+                        .value("The line is longer than 10000 characters"));
+
+        try {
+            List<Task> tasks = taskService.getByTodoId(8L);
+            assertEquals(before.size() + 2, tasks.size());
+            assertTrue(tasks.stream().anyMatch(task -> task.getName().equals("Write, then review")
+                    && task.getPriority() == Priority.HIGH && task.getState().getName().equals("Doing")));
+            assertTrue(tasks.stream().anyMatch(task -> task.getName().equals("Plain task")
+                    && task.getState().getName().equals("New")));
+        } finally {
+            deleteTasksAddedTo(8L, before);
+        }
+    }
+
+
+    @Test
+    public void testImportNdjson() throws Exception {
+        List<Long> before = taskIds(8L);
+        String ndjson = "{\"name\": \"First\", \"priority\": \"MEDIUM\"}\n" +
+                "{\"name\": \"Second\", \"priority\": \"LOW\", \"state\": \"Done\"}\n" +
+                "{\"name\": \"Third\"\n" +
+                "[1, 2]\n";
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/import/todos/8")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.imported").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failed").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].line").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[1].message").value("Expected a JSON object"));
+        deleteTasksAddedTo(8L, before);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/import/todos/8")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(5L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+    }
+
+
+    @Test
+    public void testImportCsvWithoutRequiredColumns() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/import/todos/8")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .contentType("text/csv")
+                        .content("title,priority\nTask,LOW\n"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.model().attribute("message",
+                        "The CSV header must name the 'name' and 'priority' columns"));
+    }
+
+
+    @Test
+    @Transactional
+    public void testBatchUpdateState() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/state/todos/7")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("ids", "5", "6", "100")
+                        .param("state_id", "7"))
+                .andExpect(MockMvcResultMatchers.status().is3xxRedirection())
+                .andExpect(MockMvcResultMatchers.redirectedUrl("/todos/7/tasks"));
+
+        assertEquals("Verify", taskService.readById(5L).getState().getName());
+        assertEquals("Verify", taskService.readById(6L).getState().getName());
+        assertEquals("Doing", taskService.readById(7L).getState().getName());
+    }
+
+
+    @Test
+    @Transactional
+    public void testBatchUpdatePriority() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/priority/todos/7")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("ids", "6,7")
+                        .param("priority", "HIGH"))
+                .andExpect(MockMvcResultMatchers.status().is3xxRedirection())
+                .andExpect(QueryCountMatchers.statements(1));
+
+        assertEquals(Priority.HIGH, taskService.readById(6L).getPriority());
+        assertEquals(Priority.HIGH, taskService.readById(7L).getPriority());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/priority/todos/7")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("ids", "6")
+                        .param("priority", "URGENT"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+
+    @Test
+    @Transactional
+    public void testBatchDelete() throws Exception {
+        int before = taskService.getByTodoId(7L).size();
+
+        // Task 5 belongs to to-do 7, so a batch on to-do 8 must leave it alone.
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/delete/todos/8")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("ids", "5"))
+                .andExpect(MockMvcResultMatchers.status().is3xxRedirection());
+        assertEquals(before, taskService.getByTodoId(7L).size());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/delete/todos/7")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("ids", "5", "6"))
+                .andExpect(MockMvcResultMatchers.status().is3xxRedirection());
+        assertEquals(before - 2, taskService.getByTodoId(7L).size());
+
+        // User 5 collaborates on to-do 7 but does not own it.
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/delete/todos/7")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(5L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("ids", "7"))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+        assertEquals(before - 2, taskService.getByTodoId(7L).size());
+    }
+
+
+    @Test
+    @Transactional
+    public void testPatchState() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/6/state/todos/7")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("state_id", "6"))
+                .andExpect(MockMvcResultMatchers.status().isNoContent())
+                .andExpect(QueryCountMatchers.statements(1));
+        assertEquals("Doing", taskService.readById(6L).getState().getName());
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/6/state/todos/7")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("state_id", "100"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/6/state/todos/8")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("state_id", "7"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+        assertEquals("Doing", taskService.readById(6L).getState().getName());
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/6/state/todos/7")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(5L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("state_id", "7"))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+    }
+
+
+    @Test
+    @Transactional
+    public void testPatchPriority() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/7/priority/todos/7")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("priority", "LOW"))
+                .andExpect(MockMvcResultMatchers.status().isNoContent())
+                .andExpect(QueryCountMatchers.statements(1));
+        assertEquals(Priority.LOW, taskService.readById(7L).getPriority());
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/7/priority/todos/7")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("priority", "URGENT"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+
+    @Test
+    @Transactional
+    public void testPatchStateWithVersion() throws Exception {
+        long version = taskService.readById(6L).getVersion();
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/6/state/todos/7")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("state_id", "6")
+                        .param("version", String.valueOf(version)))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+        assertEquals(version + 1, taskService.readById(6L).getVersion());
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/6/state/todos/7")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("state_id", "7")
+                        .param("version", String.valueOf(version)))
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+        assertEquals("Doing", taskService.readById(6L).getState().getName());
+    }
+
+
+    private List<Long> taskIds(long todoId) {
+        return taskService.getByTodoId(todoId).stream().map(Task::getId).collect(Collectors.toList());
+    }
+
+    private void deleteTasksAddedTo(long todoId, List<Long> before) {
+        List<Long> added = taskIds(todoId);
+        added.removeAll(before);
+        taskService.delete(todoId, added);
+    }
+}
@@ -1,5 +1,8 @@
 package com.softserve.itacademy.controller;
 
+import com.softserve.itacademy.dto.TodoSummary;
+import com.softserve.itacademy.metrics.QueryBudgetProperties;
+import com.softserve.itacademy.metrics.QueryCountMatchers;
 import com.softserve.itacademy.model.Task;
 import com.softserve.itacademy.model.ToDo;
 import com.softserve.itacademy.model.User;
@@ -13,12 +16,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -39,6 +48,12 @@ public class ToDoControllerTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private QueryBudgetProperties queryBudgetProperties;
+
     @Test
     @Transactional
     public void createToDoGetMethodTest() throws Exception {
@@ -51,6 +66,7 @@ public class ToDoControllerTest {
                         .with(SecurityMockMvcRequestPostProcessors.csrf())
                 )
                 .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(QueryCountMatchers.statements(0))
                 .andExpect(MockMvcResultMatchers.model().attributeExists("todo", "ownerId"))
                 .andExpect(MockMvcResultMatchers.model().attribute("ownerId", ownerId));
     }
@@ -106,14 +122,35 @@ public class ToDoControllerTest {
     }
 
 
+    @Test
+    @Transactional
+    public void readToDoOverQueryBudgetTest() throws Exception {
+        QueryBudgetProperties.Mode mode = queryBudgetProperties.getMode();
+        Integer limit = queryBudgetProperties.getLimits().get("GET /todos/{id}/tasks");
+        queryBudgetProperties.setMode(QueryBudgetProperties.Mode.FAIL);
+        queryBudgetProperties.getLimits().put("GET /todos/{id}/tasks", 1);
+        try {
+            mockMvc.perform(MockMvcRequestBuilders.get("/todos/7/tasks")
+                            .with(SecurityMockMvcRequestPostProcessors.user(
+                                    CustomUserDetails.getUserDetails(userService.readById(4L)))
+                            )
+                    )
+                    .andExpect(MockMvcResultMatchers.status().isInternalServerError())
+                    .andExpect(MockMvcResultMatchers.view().name("error"))
+                    .andExpect(MockMvcResultMatchers.model().attribute("message",
+                            "GET /todos/{id}/tasks executed 2 statements, budget is 1"));
+        } finally {
+            queryBudgetProperties.setMode(mode);
+            queryBudgetProperties.getLimits().put("GET /todos/{id}/tasks", limit);
+        }
+    }
+
+
     @Test
     @Transactional
     public void readToDoGetMethodTest() throws Exception {
         ToDo toDo = todoService.getAll().get(0);
         List<Task> tasks = taskService.getByTodoId(toDo.getId());
-        List<User> users = userService.getAll().stream()
-                .filter(user -> user.getId() != toDo.getOwner().getId())
-                .collect(Collectors.toList());
 
         mockMvc.perform(MockMvcRequestBuilders.get("/todos/" + toDo.getId() + "/tasks")
                         .with(SecurityMockMvcRequestPostProcessors.user(
@@ -122,14 +159,34 @@ public class ToDoControllerTest {
                         .with(SecurityMockMvcRequestPostProcessors.csrf())
                 )
                 .andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(MockMvcResultMatchers.model().attributeExists("todo", "tasks", "users"))
+                .andExpect(QueryCountMatchers.statements(2))
+                .andExpect(MockMvcResultMatchers.model().attributeExists("todo", "tasks"))
                 .andExpect(MockMvcResultMatchers.model().attribute("todo", toDo))
                 .andExpect(MockMvcResultMatchers.model().attribute("tasks",tasks))
-                .andExpect(MockMvcResultMatchers.model().attribute("users", users))
                 .andExpect(MockMvcResultMatchers.view().name("todo-tasks"));
     }
 
 
+    @Test
+    @Transactional
+    public void readCollaboratorToDoGetMethodTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/todos/7/tasks")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(5L)))
+                        )
+                )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.model().attribute("owner", false));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/todos/13/tasks")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(5L)))
+                        )
+                )
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+    }
+
+
     @Test
     @Transactional
     public void readNotExistToDoGetMethodTest() throws Exception{
@@ -176,13 +233,38 @@ public class ToDoControllerTest {
                         )
                         .with(SecurityMockMvcRequestPostProcessors.csrf())
                         .param("id", String.valueOf(todoId))
-                        .param("title", "My ToDo"))
+                        .param("title", "My ToDo")
+                        .param("version", String.valueOf(toDo.getVersion())))
                 .andExpect(MockMvcResultMatchers.status().is3xxRedirection());
 
         assertEquals(toDo.getTitle(), "My ToDo");
     }
 
 
+    @Test
+    @Transactional
+    public void updateConflictToDoPostMethodTest() throws Exception {
+        ToDo toDo = todoService.getAll().get(0);
+        long todoId = toDo.getId();
+        long ownerId = toDo.getOwner().getId();
+        String title = toDo.getTitle();
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/todos/" + todoId + "/update/users/" + ownerId)
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .param("id", String.valueOf(todoId))
+                        .param("title", "My ToDo")
+                        .param("version", String.valueOf(toDo.getVersion() + 1)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.view().name("update-todo"))
+                .andExpect(MockMvcResultMatchers.model().attributeHasErrors("todo"));
+
+        assertEquals(title, todoService.readById(todoId).getTitle());
+    }
+
+
     @Test
     @Transactional
     public void updateInvalidToDoPostMethodTest() throws Exception {
@@ -259,38 +341,62 @@ public class ToDoControllerTest {
         List<ToDo> todos = todoService.getByUserId(userId);
 
 
-        mockMvc.perform(MockMvcRequestBuilders.get("/todos/all/users/" + userId)
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/todos/all/users/" + userId)
                         .with(SecurityMockMvcRequestPostProcessors.user(
                                 CustomUserDetails.getUserDetails(userService.readById(4L)))
                         )
                         .with(SecurityMockMvcRequestPostProcessors.csrf())
                 )
                 .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(QueryCountMatchers.statements(1))
                 .andExpect(MockMvcResultMatchers.model().attributeExists("todos", "user"))
-                .andExpect(MockMvcResultMatchers.model().attribute("todos", todos))
                 .andExpect(MockMvcResultMatchers.model().attribute("user", user))
-                .andExpect(MockMvcResultMatchers.view().name("todos-user"));
+                .andExpect(MockMvcResultMatchers.view().name("todos-user"))
+                .andReturn();
+
+        @SuppressWarnings("unchecked")
+        List<TodoSummary> actual = (List<TodoSummary>) result.getModelAndView().getModel().get("todos");
+        assertEquals(todos.stream().map(ToDo::getId).collect(Collectors.toList()),
+                actual.stream().map(TodoSummary::getId).collect(Collectors.toList()));
 
         assertEquals(3, user.getMyTodos().size());
     }
 
 
-
     @Test
     @Transactional
-    public void addCollaboratorToDoGetMethodTest() throws Exception {
-        ToDo toDo = userService.getAll().get(0).getMyTodos().get(0);
-        long userId = userService.getAll().get(1).getId();
-        int expected = toDo.getCollaborators().size() + 1;
-
-        mockMvc.perform(MockMvcRequestBuilders.get("/todos/"+ toDo.getId() + "/add/")
+    public void getAllToDoInvalidCursorGetMethodTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/todos/all/users/" + 4L)
                         .with(SecurityMockMvcRequestPostProcessors.user(
                                 CustomUserDetails.getUserDetails(userService.readById(4L)))
                         )
                         .with(SecurityMockMvcRequestPostProcessors.csrf())
-                        .param("user_id", String.valueOf(userId)))
-                .andExpect(MockMvcResultMatchers.status().is3xxRedirection());
+                        .param("after", "not-a-cursor")
+                )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.model().attribute("message", "Invalid page cursor 'not-a-cursor'"));
+    }
+
 
+
+    @Test
+    @Transactional
+    public void addCollaboratorToDoGetMethodTest() throws Exception {
+        ToDo toDo = todoService.readById(8L);
+        long userId = 5L;
+        int expected = toDo.getCollaborators().size() + 1;
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.get("/todos/" + toDo.getId() + "/add/")
+                            .with(SecurityMockMvcRequestPostProcessors.user(
+                                    CustomUserDetails.getUserDetails(userService.readById(4L)))
+                            )
+                            .with(SecurityMockMvcRequestPostProcessors.csrf())
+                            .param("user_id", String.valueOf(userId)))
+                    .andExpect(MockMvcResultMatchers.status().is3xxRedirection());
+        }
+
+        entityManager.refresh(toDo);
         assertEquals(expected, toDo.getCollaborators().size());
     }
 
@@ -327,6 +433,7 @@ public class ToDoControllerTest {
                         .param("user_id", String.valueOf(userId)))
                 .andExpect(MockMvcResultMatchers.status().is3xxRedirection());
 
+        entityManager.refresh(toDo);
         assertEquals(expected, toDo.getCollaborators().size());
     }
 
@@ -346,4 +453,69 @@ public class ToDoControllerTest {
                 .andExpect(MockMvcResultMatchers.status().is4xxClientError());
     }
 
+
+    @Test
+    @Transactional
+    public void exportToDoGetMethodTest() throws Exception {
+        String ndjson = mockMvc.perform(MockMvcRequestBuilders.get("/todos/all/users/4/export")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("Content-Disposition",
+                        "attachment; filename=\"todos-user-4.ndjson\""))
+                .andExpect(QueryCountMatchers.statements(1))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = ndjson.split("\n");
+        // Owned to-dos 7, 8 and 9 plus the collaborations on 10 and 12; to-do 7 has three tasks.
+        assertEquals(7, lines.length);
+        assertTrue(lines[0].startsWith("{\"todoId\":7,\"todoTitle\":\"Mike's To-Do #1\""));
+        assertTrue(lines[0].endsWith("\"taskId\":5,\"name\":\"Task #1\",\"priority\":\"HIGH\",\"state\":\"Done\"}"));
+        assertEquals("{\"todoId\":12,\"todoTitle\":\"Nora's To-Do #1\",\"createdAt\":\"2020-09-16T14:15:32.464391\"," +
+                "\"ownerId\":6}", lines[6]);
+
+        byte[] gzip = mockMvc.perform(MockMvcRequestBuilders.get("/todos/all/users/4/export")
+                        .param("format", "csv")
+                        .param("gzip", "true")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String csv;
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        lines = csv.split("\n");
+        assertEquals(8, lines.length);
+        assertEquals("todoId,todoTitle,createdAt,ownerId,taskId,name,priority,state", lines[0]);
+        assertEquals("7,Mike's To-Do #1,2020-09-16T14:00:04.810221,4,5,Task #1,HIGH,Done", lines[1]);
+        assertEquals("12,Nora's To-Do #1,2020-09-16T14:15:32.464391,6,,,,", lines[7]);
+    }
+
+
+    @Test
+    @Transactional
+    public void exportForbiddenToDoGetMethodTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/todos/all/users/4/export")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(5L)))
+                        )
+                )
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/todos/all/users/4/export")
+                        .param("format", "xml")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.model().attribute("message", "Unsupported export format 'xml'"));
+    }
 }
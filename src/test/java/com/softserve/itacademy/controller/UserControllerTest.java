@@ -1,21 +1,35 @@
 package com.softserve.itacademy.controller;
 
+import com.softserve.itacademy.dto.UserDeletionProgress;
+import com.softserve.itacademy.dto.UserSummary;
 import com.softserve.itacademy.model.Role;
+import com.softserve.itacademy.model.ToDo;
 import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.repository.UserRepository;
 import com.softserve.itacademy.security.CustomUserDetails;
 import com.softserve.itacademy.service.RoleService;
+import com.softserve.itacademy.service.ToDoService;
+import com.softserve.itacademy.service.UserDeletionService;
 import com.softserve.itacademy.service.UserService;
+import com.softserve.itacademy.service.impl.UserPrefixIndex;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import javax.persistence.EntityNotFoundException;
 import javax.transaction.Transactional;;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
 @AutoConfigureMockMvc
@@ -26,6 +40,14 @@ public class UserControllerTest {
     private UserService userService;
     @Autowired
     private RoleService roleService;
+    @Autowired
+    private ToDoService todoService;
+    @Autowired
+    private UserDeletionService userDeletionService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserPrefixIndex userPrefixIndex;
 
 
 
@@ -34,7 +56,7 @@ public class UserControllerTest {
     public void getAllUsersTests() throws Exception {
         List<User> expected = userService.getAll();
 
-        mockMvc
+        MvcResult result = mockMvc
                 .perform(MockMvcRequestBuilders.get("/users/all")
                         .with(SecurityMockMvcRequestPostProcessors.user(
                                 CustomUserDetails.getUserDetails(userService.readById(4L)))
@@ -42,7 +64,13 @@ public class UserControllerTest {
                         .with(SecurityMockMvcRequestPostProcessors.csrf()))
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.model().attributeExists("users"))
-                .andExpect(MockMvcResultMatchers.model().attribute("users",expected));
+                .andReturn();
+
+        @SuppressWarnings("unchecked")
+        List<UserSummary> actual = (List<UserSummary>) result.getModelAndView().getModel().get("users");
+        assertEquals(expected.stream().map(User::getId).collect(Collectors.toList()),
+                actual.stream().map(UserSummary::getId).collect(Collectors.toList()));
+        assertEquals(expected.get(0).getEmail(), actual.get(0).getEmail());
     }
 
 
@@ -203,6 +231,50 @@ public class UserControllerTest {
     }
 
 
+    @Test
+    public void deleteUserAsync() throws Exception {
+        User user = new User();
+        user.setFirstName("Async");
+        user.setLastName("Deleted");
+        user.setEmail("async.deleted@mail.com");
+        user.setPassword("1111");
+        user.setRole(roleService.readById(2));
+        long id = userService.create(user).getId();
+        for (int i = 0; i < 3; i++) {
+            ToDo todo = new ToDo();
+            todo.setTitle("Async deleted #" + i);
+            todo.setCreatedAt(LocalDateTime.now());
+            todo.setOwner(user);
+            todoService.addCollaborator(todoService.create(todo).getId(), 5L);
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/users/" + id + "/delete/async")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                )
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.userId").value(id));
+
+        UserDeletionProgress progress = userDeletionService.getProgress(id);
+        for (int i = 0; i < 100 && progress.isRunning(); i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(UserDeletionProgress.Status.DONE, progress.getStatus());
+        assertEquals(3, progress.getDeletedTodos());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/" + id + "/delete/progress")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("DONE"));
+        assertThrows(EntityNotFoundException.class, () -> userService.readById(id));
+    }
+
+
     @Test
     @Transactional
     public void deleteNotExistUser() throws Exception {
@@ -215,4 +287,107 @@ public class UserControllerTest {
                 .andExpect(MockMvcResultMatchers.status().is4xxClientError());
 
     }
+
+
+    @Test
+    @Transactional
+    public void getCurrentUserToDosTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/user_todos")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(5L)))
+                        )
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                )
+                .andExpect(MockMvcResultMatchers.status().is3xxRedirection())
+                .andExpect(MockMvcResultMatchers.redirectedUrl("/todos/all/users/5"));
+    }
+
+
+    @Test
+    @Transactional
+    public void searchUsersTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/search")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .param("todo_id", "7")
+                        .param("q", "N")
+                        .param("exclude", "4"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].firstName").value("Nick"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].firstName").value("Nora"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].email").doesNotExist());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/search")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                        .param("todo_id", "7")
+                        .param("q", "nora w")
+                        .param("limit", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(6));
+    }
+
+
+    @Test
+    @Transactional
+    public void searchUsersForbiddenTest() throws Exception {
+        // User 5 collaborates on to-do 7 but cannot add collaborators to it.
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/search")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(5L)))
+                        )
+                        .param("todo_id", "7")
+                        .param("q", "nick@"))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/search")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(5L)))
+                        )
+                        .param("todo_id", "10")
+                        .param("q", "nora@"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(6));
+    }
+
+
+    // Written straight to the repository, as another instance or the dataset generator would.
+    @Test
+    public void searchUsersAfterRebuildTest() throws Exception {
+        User user = new User();
+        user.setFirstName("Quentin");
+        user.setLastName("Rebuild");
+        user.setEmail("quentin@mail.com");
+        user.setPassword("1111");
+        user.setRole(roleService.readById(2L));
+        user = userRepository.save(user);
+        try {
+            mockMvc.perform(MockMvcRequestBuilders.get("/users/search")
+                            .with(SecurityMockMvcRequestPostProcessors.user(
+                                    CustomUserDetails.getUserDetails(userService.readById(4L)))
+                            )
+                            .param("todo_id", "7")
+                            .param("q", "quentin"))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0));
+
+            userPrefixIndex.rebuild();
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/users/search")
+                            .with(SecurityMockMvcRequestPostProcessors.user(
+                                    CustomUserDetails.getUserDetails(userService.readById(4L)))
+                            )
+                            .param("todo_id", "7")
+                            .param("q", "quentin"))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(user.getId()));
+        } finally {
+            userRepository.deleteById(user.getId());
+            userPrefixIndex.rebuild();
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package com.softserve.itacademy.dataset;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.transaction.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class DatasetGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    @Transactional
+    public void generateTest() {
+        DatasetProperties properties = new DatasetProperties();
+        properties.setUsers(50);
+        properties.setTodos(200);
+        properties.setTasks(1000);
+        properties.setStates(6);
+        properties.setMaxCollaborators(20);
+        properties.setTaskExponent(1.5);
+        properties.setBatchSize(64);
+        properties.setBatchesPerTransaction(2);
+        long users = count("users");
+        long todos = count("todos");
+        long tasks = count("tasks");
+
+        new DatasetGenerator(jdbcTemplate, transactionManager, passwordEncoder, properties).generate();
+
+        assertEquals(users + 50, count("users"));
+        assertEquals(todos + 200, count("todos"));
+        assertEquals(tasks + 1000, count("tasks"));
+        assertEquals(6, count("states"));
+        assertTrue(jdbcTemplate.queryForObject("select max(c) from (select count(*) c from todo_collaborator " +
+                "group by todo_id) t", Long.class) <= 20);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from todo_collaborator tc " +
+                "join todos t on t.id = tc.todo_id where t.owner_id = tc.collaborator_id", Long.class));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+}
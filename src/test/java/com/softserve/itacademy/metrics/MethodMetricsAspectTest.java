@@ -0,0 +1,96 @@
+package com.softserve.itacademy.metrics;
+
+import com.softserve.itacademy.security.CustomUserDetails;
+import com.softserve.itacademy.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import javax.persistence.EntityNotFoundException;
+import javax.transaction.Transactional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class MethodMetricsAspectTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    @Transactional
+    public void serviceAndRepositoryMetricsTest() {
+        double before = count("UserServiceImpl", "getAll");
+
+        int users = userService.getAll().size();
+        assertThrows(EntityNotFoundException.class, () -> userService.readById(100L));
+
+        assertEquals(before + 1, count("UserServiceImpl", "getAll"));
+        assertNotNull(registry.find(MethodMetricsAspect.TIMER)
+                .tags("layer", "repository", "class", "UserRepository", "method", "findAll").timer());
+        assertEquals(users, registry.find(MethodMetricsAspect.RESULT_SIZE)
+                .tags("class", "UserServiceImpl", "method", "getAll").summary().max());
+        assertNotNull(registry.find(MethodMetricsAspect.ERRORS)
+                .tags("class", "UserServiceImpl", "method", "readById", "exception", "EntityNotFoundException")
+                .counter());
+    }
+
+    @Test
+    @Transactional
+    public void prometheusEndpointTest() throws Exception {
+        userService.getAll();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(4L)))
+                        )
+                )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(containsString("todolist_method_seconds_bucket")));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus")
+                        .with(SecurityMockMvcRequestPostProcessors.user(
+                                CustomUserDetails.getUserDetails(userService.readById(5L)))
+                        )
+                )
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+    }
+
+    @Test
+    public void basicAuthenticationOnlyForActuatorTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus")
+                        .with(SecurityMockMvcRequestPostProcessors.httpBasic("mike@mail.com", "wrong")))
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/health"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // Basic credentials are ignored outside the actuator, the form login is the only way in.
+        mockMvc.perform(MockMvcRequestBuilders.get("/home")
+                        .with(SecurityMockMvcRequestPostProcessors.httpBasic("mike@mail.com", "wrong")))
+                .andExpect(MockMvcResultMatchers.status().is3xxRedirection())
+                .andExpect(MockMvcResultMatchers.redirectedUrl("http://localhost/login"));
+    }
+
+    private double count(String type, String method) {
+        io.micrometer.core.instrument.Timer timer = registry.find(MethodMetricsAspect.TIMER)
+                .tags("class", type, "method", method, "exception", "none").timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,90 @@
+package com.softserve.itacademy.metrics;
+
+import com.softserve.itacademy.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class QueryBudgetFilterTest {
+
+    private QueryBudgetProperties properties;
+    private SimpleMeterRegistry registry;
+    private QueryBudgetFilter filter;
+    private MockHttpServletRequest request;
+
+    // Stands in for a handler that issues three statements.
+    private final FilterChain chain = (req, res) -> {
+        req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/todos/{id}/tasks");
+        for (int i = 0; i < 3; i++) {
+            QueryCounter.increment();
+        }
+    };
+
+    @BeforeEach
+    public void setUp() {
+        properties = new QueryBudgetProperties();
+        registry = new SimpleMeterRegistry();
+        filter = new QueryBudgetFilter(properties, registry);
+        request = new MockHttpServletRequest("GET", "/todos/7/tasks");
+    }
+
+    @Test
+    public void countsStatementsPerRequestTest() throws Exception {
+        try (QueryCounter.Scope outer = QueryCounter.start()) {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            assertEquals(3, outer.count());
+        }
+
+        assertEquals(3, request.getAttribute(QueryBudgetFilter.STATEMENT_COUNT));
+        assertEquals(3, registry.find(QueryBudgetFilter.STATEMENTS)
+                .tags("method", "GET", "uri", "/todos/{id}/tasks").summary().totalAmount());
+    }
+
+    @Test
+    public void warnModeDoesNotFailTest() throws Exception {
+        properties.setDefaultLimit(1);
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertEquals(3, request.getAttribute(QueryBudgetFilter.STATEMENT_COUNT));
+    }
+
+    @Test
+    public void failModeFailsTheStatementOverBudgetTest() {
+        properties.setMode(QueryBudgetProperties.Mode.FAIL);
+        properties.getLimits().put("GET /todos/{id}/tasks", 2);
+
+        QueryBudgetExceededException e = assertThrows(QueryBudgetExceededException.class,
+                () -> filter.doFilter(request, new MockHttpServletResponse(), chain));
+        assertEquals("GET /todos/{id}/tasks executed 3 statements, budget is 2", e.getMessage());
+        assertEquals(3, request.getAttribute(QueryBudgetFilter.STATEMENT_COUNT));
+    }
+
+    @Test
+    public void failModeSkipsExemptEndpointsTest() throws Exception {
+        properties.setMode(QueryBudgetProperties.Mode.FAIL);
+        properties.setDefaultLimit(1);
+        properties.getExempt().add("GET /todos/{id}/tasks");
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertEquals(3, request.getAttribute(QueryBudgetFilter.STATEMENT_COUNT));
+    }
+
+    @Test
+    public void offModeSkipsCountingTest() throws Exception {
+        properties.setMode(QueryBudgetProperties.Mode.OFF);
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertEquals(null, request.getAttribute(QueryBudgetFilter.STATEMENT_COUNT));
+    }
+}
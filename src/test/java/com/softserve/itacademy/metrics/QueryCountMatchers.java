@@ -0,0 +1,31 @@
+package com.softserve.itacademy.metrics;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class QueryCountMatchers {
+
+    private QueryCountMatchers() {
+    }
+
+    public static ResultMatcher statements(int expected) {
+        return result -> assertEquals(expected, count(result), "JDBC statements executed by the request");
+    }
+
+    public static ResultMatcher statementsAtMost(int limit) {
+        return result -> {
+            int count = count(result);
+            assertTrue(count <= limit, "Expected at most " + limit + " JDBC statements but was " + count);
+        };
+    }
+
+    private static int count(MvcResult result) {
+        Object count = result.getRequest().getAttribute(QueryBudgetFilter.STATEMENT_COUNT);
+        assertNotNull(count, "QueryBudgetFilter did not run for this request");
+        return (Integer) count;
+    }
+}
@@ -0,0 +1,106 @@
+package com.softserve.itacademy.metrics;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SqlEventListenerTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SqlEventListener.LOGGER);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final SqlLoggingProperties properties = new SqlLoggingProperties();
+
+    @BeforeEach
+    public void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    public void logsRowsAndBindsTest() throws Exception {
+        properties.setSampleRate(1.0);
+
+        try (Connection connection = dataSource("sql_events").getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table items (id int, name varchar(20))");
+            }
+            try (PreparedStatement insert = connection.prepareStatement("insert into items values (?, ?)")) {
+                for (int i = 1; i <= 3; i++) {
+                    insert.setInt(1, i);
+                    insert.setString(2, "item " + i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement select = connection.prepareStatement("select id from items where id > ?")) {
+                select.setInt(1, 1);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        resultSet.getInt(1);
+                    }
+                }
+            }
+        }
+
+        List<ILoggingEvent> events = appender.list;
+        assertEquals(3, events.size());
+        assertTrue(events.get(1).getFormattedMessage().contains(" rows=3 binds=6 batch=3 "));
+        assertTrue(events.get(2).getFormattedMessage().contains(" rows=2 binds=1 batch=0 "));
+        assertTrue(events.get(2).getFormattedMessage().endsWith("statement=\"select id from items where id > ?\""));
+        assertEquals(Level.INFO, events.get(2).getLevel());
+    }
+
+    @Test
+    public void logsOnlySlowStatementsWhenNotSampledTest() throws Exception {
+        properties.setSampleRate(0);
+        properties.setSlowThreshold(Duration.ZERO);
+
+        try (Connection connection = dataSource("sql_slow").getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeQuery("select 1").close();
+        }
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.WARN, appender.list.get(0).getLevel());
+
+        appender.list.clear();
+        properties.setSlowThreshold(Duration.ofMinutes(1));
+        try (Connection connection = dataSource("sql_fast").getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select 1")) {
+            // Unsampled reads get the driver's result set, not a counting proxy.
+            assertFalse(Proxy.isProxyClass(resultSet.getClass()));
+        }
+        assertEquals(0, appender.list.size());
+    }
+
+    private DataSource dataSource(String name) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return new SqlEventListener(properties).install(ProxyDataSourceBuilder.create(h2)).build();
+    }
+}
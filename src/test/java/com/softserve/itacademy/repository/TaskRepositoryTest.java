@@ -2,6 +2,9 @@ package com.softserve.itacademy.repository;
 
 import com.softserve.itacademy.model.Priority;
 import com.softserve.itacademy.model.Task;;
+import com.softserve.itacademy.model.ToDo;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -57,4 +60,27 @@ public class TaskRepositoryTest {
         assertThat(check.getPriority()).isEqualTo(update.getPriority());
 
     }
-}
\ No newline at end of file
+
+    @Test
+    @Transactional
+    public void getByTodoIdStatementCountTest() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            ToDo todo = toDoRepository.findWithCollaboratorsById(7L).orElse(null);
+            List<Task> tasks = taskRepository.getByTodoId(7L);
+            tasks.forEach(task -> task.getState().getName());
+            todo.getOwner().getRole().getName();
+            todo.getCollaborators().forEach(user -> user.getRole().getName());
+
+            assertThat(tasks).hasSize(3);
+            assertThat(todo.getCollaborators()).hasSize(2);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.softserve.itacademy.repository;
 
+import com.softserve.itacademy.dto.TodoSummary;
 import com.softserve.itacademy.model.ToDo;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -10,8 +11,12 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import javax.transaction.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 @DataJpaTest
 public class ToDoRepositoryTest {
@@ -37,6 +42,35 @@ public class ToDoRepositoryTest {
     }
 
 
+    @Test
+    public void getPageByUserIdTest() {
+        List<Long> expected = toDoRepository.getByUserId(4).stream().map(ToDo::getId).collect(Collectors.toList());
+
+        List<TodoSummary> actual = new ArrayList<>(toDoRepository.getFirstPageByUserId(4, 2));
+        while (actual.size() < expected.size()) {
+            TodoSummary last = actual.get(actual.size() - 1);
+            List<TodoSummary> page = toDoRepository.getPageByUserIdAfter(4, last.getCreatedAt(), last.getId(), 2);
+            assertFalse(page.isEmpty());
+            actual.addAll(page);
+        }
+
+        assertEquals(expected, actual.stream().map(TodoSummary::getId).collect(Collectors.toList()));
+        TodoSummary last = actual.get(actual.size() - 1);
+        List<TodoSummary> previous = toDoRepository.getPageByUserIdBefore(4, last.getCreatedAt(), last.getId(), 1);
+        assertEquals(expected.get(3), previous.get(0).getId());
+        assertEquals("Mike", actual.get(0).getOwnerFirstName());
+    }
+
+
+    @Test
+    public void getAccessLevelTest() {
+        assertEquals(2, toDoRepository.getAccessLevel(7, 4));
+        assertEquals(1, toDoRepository.getAccessLevel(7, 5));
+        assertEquals(0, toDoRepository.getAccessLevel(13, 5));
+        assertEquals(0, toDoRepository.getAccessLevel(100, 4));
+    }
+
+
     @Test
     public void saveNewToDoTest() {
         ToDo toDo = new ToDo();
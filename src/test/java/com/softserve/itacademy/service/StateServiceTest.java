@@ -10,7 +10,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 
 import javax.persistence.EntityNotFoundException;;
 import java.util.ArrayList;
@@ -32,6 +34,12 @@ public class StateServiceTest {
     @InjectMocks
     private StateServiceImpl stateServiceMock;
 
+    @Autowired
+    private StateService stateService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
 
 
     @Test
@@ -254,4 +262,13 @@ public class StateServiceTest {
         assertEquals(thrown.getMessage(), "State with name '" + name + "' not found");
     }
 
+
+
+    @Test
+    public void getByNameCachedStateTest() {
+        State state = stateService.getByName("New");
+
+        assertSame(state, stateService.getByName("New"));
+        assertSame(state, cacheManager.getCache("states").get("name:New").get());
+    }
 }
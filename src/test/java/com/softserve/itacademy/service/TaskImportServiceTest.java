@@ -0,0 +1,76 @@
+package com.softserve.itacademy.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserve.itacademy.dto.TaskImportResult;
+import com.softserve.itacademy.model.State;
+import com.softserve.itacademy.service.impl.TaskImportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.RollbackException;
+import javax.validation.Validation;
+import java.io.StringReader;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+public class TaskImportServiceTest {
+
+    @Mock
+    private ToDoService todoServiceMock;
+    @Mock
+    private StateService stateServiceMock;
+    @Mock
+    private EntityManagerFactory entityManagerFactoryMock;
+    @Mock
+    private EntityManager entityManagerMock;
+    @Mock
+    private EntityTransaction transactionMock;
+
+    private TaskImportServiceImpl taskImportService;
+
+    @BeforeEach
+    public void setUp() {
+        taskImportService = new TaskImportServiceImpl(todoServiceMock, stateServiceMock,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(),
+                entityManagerFactoryMock);
+    }
+
+
+
+    @Test
+    public void importKeepsGoingAfterFailedChunkTest() throws Exception {
+        State state = new State();
+        state.setId(5L);
+        state.setName("New");
+        when(stateServiceMock.getAll()).thenReturn(Collections.singletonList(state));
+        when(entityManagerFactoryMock.createEntityManager()).thenReturn(entityManagerMock);
+        when(entityManagerMock.getTransaction()).thenReturn(transactionMock);
+        doThrow(new RollbackException("deadlock detected")).doNothing().when(transactionMock).commit();
+
+        StringBuilder csv = new StringBuilder("name,priority\n");
+        for (int i = 1; i <= 1_001; i++) {
+            csv.append("Task ").append(i).append(",LOW\n");
+        }
+
+        TaskImportResult result = taskImportService.importTasks(7L, new StringReader(csv.toString()),
+                TaskImportService.Format.CSV);
+
+        assertEquals(1, result.getImported());
+        assertEquals(1_000, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertEquals("The row could not be saved", result.getErrors().get(0).getMessage());
+        assertEquals(1_001, result.getErrors().get(999).getLine());
+        verify(transactionMock, times(2)).commit();
+        verify(entityManagerMock).close();
+    }
+}
@@ -1,6 +1,7 @@
 package com.softserve.itacademy.service;
 
 import com.softserve.itacademy.exception.NullEntityReferenceException;
+import com.softserve.itacademy.model.Priority;
 import com.softserve.itacademy.model.Task;
 import com.softserve.itacademy.model.ToDo;
 import com.softserve.itacademy.repository.TaskRepository;
@@ -11,12 +12,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.verify;
 
@@ -28,6 +31,9 @@ public class TaskServiceTest {
     @Mock
     private TaskRepository taskRepositoryMock;
 
+    @Mock
+    private StateService stateServiceMock;
+
     @InjectMocks
     private TaskServiceImpl taskServiceMock;
 
@@ -252,4 +258,71 @@ public class TaskServiceTest {
     }
 
 
+    @Test
+    public void updateStateInBatchesTest() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 1500; id++) {
+            ids.add(id);
+        }
+        when(taskRepositoryMock.updateStateByIds(eq(7L), anyList(), eq(6L))).thenReturn(1000, 500);
+
+        int actual = taskServiceMock.updateState(7L, ids, 6L);
+
+        verify(stateServiceMock).readById(6L);
+        verify(taskRepositoryMock).updateStateByIds(7L, ids.subList(0, 1000), 6L);
+        verify(taskRepositoryMock).updateStateByIds(7L, ids.subList(1000, 1500), 6L);
+        assertEquals(1500, actual);
+    }
+
+
+    @Test
+    public void updateStateNotExistingStateTest() {
+        when(stateServiceMock.readById(100L)).thenThrow(new EntityNotFoundException());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> taskServiceMock.updateState(7L, Arrays.asList(5L, 6L), 100L));
+        verify(taskRepositoryMock, never()).updateStateByIds(anyLong(), anyList(), anyLong());
+    }
+
+
+    @Test
+    public void deleteByIdsTest() {
+        when(taskRepositoryMock.deleteByIds(7L, Arrays.asList(5L, 6L))).thenReturn(2);
+
+        assertEquals(2, taskServiceMock.delete(7L, Arrays.asList(5L, 6L)));
+        assertEquals(0, taskServiceMock.delete(7L, Collections.emptyList()));
+        verify(taskRepositoryMock).deleteByIds(7L, Arrays.asList(5L, 6L));
+        verifyNoMoreInteractions(taskRepositoryMock);
+    }
+
+
+    @Test
+    public void updateStateByIdNotFoundTest() {
+        when(taskRepositoryMock.updateStateById(7L, 100L, 6L)).thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class, () -> taskServiceMock.updateState(7L, 100L, 6L, null));
+        verifyNoInteractions(stateServiceMock);
+    }
+
+
+    @Test
+    public void updatePriorityByIdTest() {
+        when(taskRepositoryMock.updatePriorityById(7L, 6L, Priority.HIGH)).thenReturn(1);
+
+        taskServiceMock.updatePriority(7L, 6L, Priority.HIGH, null);
+
+        verify(taskRepositoryMock).updatePriorityById(7L, 6L, Priority.HIGH);
+        assertThrows(NullEntityReferenceException.class, () -> taskServiceMock.updatePriority(7L, 6L, null, null));
+    }
+
+
+    @Test
+    public void updateStateStaleVersionTest() {
+        when(taskRepositoryMock.updateStateByIdAndVersion(7L, 6L, 6L, 0L)).thenReturn(0);
+        when(taskRepositoryMock.existsByTodoIdAndIdAndVersionNot(7L, 6L, 0L)).thenReturn(true);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> taskServiceMock.updateState(7L, 6L, 6L, 0L));
+        verify(taskRepositoryMock, never()).updateStateById(anyLong(), anyLong(), anyLong());
+    }
 }
@@ -0,0 +1,75 @@
+package com.softserve.itacademy.service;
+
+import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.service.impl.ToDoAccessServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+@SpringBootTest
+@ExtendWith(MockitoExtension.class)
+public class ToDoAccessServiceTest {
+
+    @Mock
+    private ToDoRepository toDoRepositoryMock;
+
+    private ToDoAccessServiceImpl accessService;
+
+    @BeforeEach
+    public void setUp() {
+        accessService = new ToDoAccessServiceImpl(toDoRepositoryMock);
+    }
+
+
+
+    @Test
+    public void accessLevelCachedToDoTest() {
+        when(toDoRepositoryMock.getAccessLevel(7L, 4L)).thenReturn(2);
+
+        assertTrue(accessService.isOwner(4L, 7L));
+        assertTrue(accessService.canRead(4L, 7L));
+        verify(toDoRepositoryMock, times(1)).getAccessLevel(7L, 4L);
+
+        accessService.evictTodo(7L);
+
+        assertTrue(accessService.isOwner(4L, 7L));
+        verify(toDoRepositoryMock, times(2)).getAccessLevel(7L, 4L);
+    }
+
+
+
+    @Test
+    public void removeCollaboratorDuringLoadToDoTest() {
+        // The load reads the old membership, then removeCollaborator commits before the decision is stored.
+        when(toDoRepositoryMock.getAccessLevel(7L, 5L)).thenAnswer(invocation -> {
+            accessService.evictTodo(7L);
+            return 1;
+        }).thenReturn(0);
+
+        assertTrue(accessService.canRead(5L, 7L));
+        assertFalse(accessService.canRead(5L, 7L));
+        assertFalse(accessService.canRead(5L, 7L));
+        verify(toDoRepositoryMock, times(2)).getAccessLevel(7L, 5L);
+    }
+
+
+
+    @Test
+    public void deleteUserDuringLoadToDoTest() {
+        when(toDoRepositoryMock.getAccessLevel(7L, 5L)).thenAnswer(invocation -> {
+            accessService.evictUser(5L);
+            return 1;
+        }).thenReturn(0);
+
+        assertTrue(accessService.canRead(5L, 7L));
+        assertFalse(accessService.canRead(5L, 7L));
+        verify(toDoRepositoryMock, times(2)).getAccessLevel(7L, 5L);
+    }
+}
@@ -2,7 +2,9 @@ package com.softserve.itacademy.service;
 
 import com.softserve.itacademy.exception.NullEntityReferenceException;
 import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.repository.TaskRepository;
 import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.UserRepository;
 import com.softserve.itacademy.service.impl.ToDoServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +28,12 @@ public class ToDoServiceTest {
 
     @Mock
     private ToDoRepository toDoRepositoryMock;
+    @Mock
+    private TaskRepository taskRepositoryMock;
+    @Mock
+    private UserRepository userRepositoryMock;
+    @Mock
+    private ToDoAccessService accessServiceMock;
 
     @InjectMocks
     private ToDoServiceImpl toDoServiceMock;
@@ -43,6 +51,7 @@ public class ToDoServiceTest {
         ToDo actual = toDoServiceMock.create(toDo);
 
         verify(toDoRepositoryMock).save(toDo);
+        verify(accessServiceMock).evictTodo(toDo.getId());
         assertEquals(toDo, actual);
     }
 
@@ -154,12 +163,13 @@ public class ToDoServiceTest {
 
         when(toDoRepositoryMock.findById(id)).thenReturn(Optional.of(toDo));
 
-        doNothing().when(toDoRepositoryMock).delete(toDo);
-
         toDoServiceMock.delete(id);
 
         verify(toDoRepositoryMock).findById(id);
-        verify(toDoRepositoryMock).delete(toDo);
+        verify(taskRepositoryMock).deleteByTodoIds(Collections.singletonList(id));
+        verify(toDoRepositoryMock).deleteCollaboratorsByTodoIds(Collections.singletonList(id));
+        verify(toDoRepositoryMock).deleteByIds(Collections.singletonList(id));
+        verify(accessServiceMock).evictTodo(id);
         assertFalse(toDoServiceMock.getAll().contains(toDo));
     }
 
@@ -263,6 +273,4 @@ public class ToDoServiceTest {
         verify(toDoRepositoryMock).getByUserId(userId);
         assertEquals(0, actual.size());
     }
-
-
 }
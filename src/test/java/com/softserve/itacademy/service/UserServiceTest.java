@@ -1,8 +1,13 @@
 package com.softserve.itacademy.service;
 
 import com.softserve.itacademy.exception.NullEntityReferenceException;
+import com.softserve.itacademy.model.Role;
 import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.repository.RoleRepository;
+import com.softserve.itacademy.repository.TaskRepository;
+import com.softserve.itacademy.repository.ToDoRepository;
 import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.impl.UserPrefixIndex;
 import com.softserve.itacademy.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,12 +15,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import javax.persistence.EntityNotFoundException;
 import javax.transaction.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -26,6 +33,18 @@ import static org.mockito.Mockito.*;
 public class UserServiceTest {
     @Mock
     private UserRepository userRepositoryMock;
+    @Mock
+    private RoleRepository roleRepositoryMock;
+    @Mock
+    private ToDoRepository toDoRepositoryMock;
+    @Mock
+    private TaskRepository taskRepositoryMock;
+    @Mock
+    private PasswordEncoder passwordEncoderMock;
+    @Mock
+    private UserPrefixIndex userPrefixIndexMock;
+    @Mock
+    private ToDoAccessService accessServiceMock;
     @InjectMocks
     private UserServiceImpl userServiceMock;
 
@@ -42,6 +61,27 @@ public class UserServiceTest {
     }
 
 
+    @Test
+    public void deleteUserTest() {
+        long id = 5L;
+        User user = new User();
+        user.setId(id);
+        List<Long> todoIds = List.of(10L, 11L);
+
+        when(userRepositoryMock.findById(id)).thenReturn(Optional.of(user));
+        when(toDoRepositoryMock.getIdsByOwnerId(id)).thenReturn(todoIds);
+
+        userServiceMock.delete(id);
+
+        verify(taskRepositoryMock).deleteByOwnerId(id);
+        verify(toDoRepositoryMock).deleteCollaboratorsByUserId(id);
+        verify(toDoRepositoryMock).deleteByOwnerId(id);
+        verify(userRepositoryMock).removeById(id);
+        verify(userRepositoryMock, never()).delete(any(User.class));
+        verify(accessServiceMock).evictTodos(todoIds);
+    }
+
+
     @Test
     public void deleteNotExistUserTest(){
         long id = 20L;
@@ -77,5 +117,51 @@ public class UserServiceTest {
         assertEquals(0, actual.size());
     }
 
-}
 
+
+    @Test
+    public void updateLastAdminRoleTest() {
+        Role admin = new Role();
+        admin.setId(1L);
+        admin.setName("ADMIN");
+        Role user = new Role();
+        user.setId(2L);
+        user.setName("USER");
+        User lastAdmin = new User();
+        lastAdmin.setId(4L);
+        lastAdmin.setRole(admin);
+
+        when(userRepositoryMock.findById(4L)).thenReturn(Optional.of(lastAdmin));
+        when(roleRepositoryMock.findById(2L)).thenReturn(Optional.of(user));
+        when(userRepositoryMock.countByRoleName("ADMIN")).thenReturn(1L);
+        when(userRepositoryMock.save(lastAdmin)).thenReturn(lastAdmin);
+
+        User actual = userServiceMock.update(lastAdmin, 2L);
+
+        verify(roleRepositoryMock).lockByName("ADMIN");
+        assertEquals(admin, actual.getRole());
+    }
+
+
+    @Test
+    public void updateAdminRoleTest() {
+        Role admin = new Role();
+        admin.setId(1L);
+        admin.setName("ADMIN");
+        Role user = new Role();
+        user.setId(2L);
+        user.setName("USER");
+        User oneOfAdmins = new User();
+        oneOfAdmins.setId(4L);
+        oneOfAdmins.setRole(admin);
+
+        when(userRepositoryMock.findById(4L)).thenReturn(Optional.of(oneOfAdmins));
+        when(roleRepositoryMock.findById(2L)).thenReturn(Optional.of(user));
+        when(userRepositoryMock.countByRoleName("ADMIN")).thenReturn(2L);
+        when(userRepositoryMock.save(oneOfAdmins)).thenReturn(oneOfAdmins);
+
+        User actual = userServiceMock.update(oneOfAdmins, 2L);
+
+        assertEquals(user, actual.getRole());
+    }
+}